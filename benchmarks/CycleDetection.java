@@ -0,0 +1,43 @@
+package benchmarks;
+
+import src.CardGame;
+import src.GameConfig;
+import src.GameResult;
+
+/**
+ * Measures stall detection on {@link CardGame#simulate}: how long a game that can never be won takes to be ended,
+ * and what checking every round costs a game that is won after a lap. Logging is off.
+ * Prints one CSV line per player amount, best of several runs.
+ */
+public class CycleDetection {
+    private static final int[] PLAYERS = {16, 256, 2048};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        GameConfig off = new GameConfig().setOutputDir(null);
+        GameConfig on = new GameConfig(off).setStallDetectionEnabled(true);
+        System.out.println("players,loop_turns,loop_ms,won_ms_off,won_ms_on");
+        for (int players : PLAYERS) {
+            long loopTurns = 0;
+            double loopMillis = Double.MAX_VALUE;
+            double wonOff = Double.MAX_VALUE;
+            double wonOn = Double.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                GameResult loop = CardGame.simulate(Packs.nobodyWins(players), on).getResult();
+                loopTurns = loop.turns;
+                loopMillis = Math.min(loopMillis, loop.elapsedNanos / 1e6);
+                wonOff = Math.min(wonOff, wonMillis(players, off));
+                wonOn = Math.min(wonOn, wonMillis(players, on));
+            }
+            System.out.printf("%d,%d,%.2f,%.2f,%.2f%n", players, loopTurns, loopMillis, wonOff, wonOn);
+        }
+    }
+
+    private static double wonMillis(int players, GameConfig config) throws InterruptedException {
+        GameResult result = CardGame.simulate(Packs.playerOneWinsAfterLap(players), config).getResult();
+        if (result.winner != 1) {
+            throw new IllegalStateException("Player 1 did not win");
+        }
+        return result.elapsedNanos / 1e6;
+    }
+}
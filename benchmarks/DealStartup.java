@@ -0,0 +1,88 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.util.Iterator;
+
+import src.Card;
+import src.CardGame;
+import src.Deck;
+import src.DeckType;
+import src.Pack;
+import src.WaitStrategy;
+
+/**
+ * Compares setting up the decks and hands of a large game by first copying the pack through its iterator into a
+ * {@code Card[2][n][handSize]}, as {@link CardGame#dealCards(Pack)} used to, against dealing straight
+ * from {@link Pack#hand(int)} and {@link Pack#deck(int)} views. Reports the fastest time and the bytes allocated
+ * by the dealing thread. Prints one CSV line per dealing method, deck type and player amount.
+ */
+public class DealStartup {
+    private static final int[] PLAYER_AMOUNTS = {100_000, 1_000_000};
+    private static final int RUNS = 5;
+
+    private static Object retained;
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        System.out.println("method,deck_type,players,millis,allocated_bytes");
+        for (int players : PLAYER_AMOUNTS) {
+            Pack pack = Pack.generatePack(players, Pack.DEFAULT_HAND_SIZE, 42);
+            for (DeckType type : DeckType.values()) {
+                for (String method : new String[] {"COPY", "VIEWS"}) {
+                    long best = Long.MAX_VALUE;
+                    long allocated = 0;
+                    for (int run = 0; run < RUNS; run++) {
+                        retained = null;
+                        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+                        long start = System.nanoTime();
+                        retained = deal(method, type, pack);
+                        best = Math.min(best, System.nanoTime() - start);
+                        allocated = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+                    }
+                    System.out.printf("%s,%s,%d,%d,%d%n", method, type, players, best / 1_000_000, allocated);
+                }
+            }
+            retained = null;
+        }
+    }
+
+    /**
+     * @return the decks and hands, so they stay reachable while timed
+     */
+    private static Object[] deal(String method, DeckType type, Pack pack) {
+        int players = pack.playerAmount;
+        // only room for the dealt cards, rings sized for a whole game of this many players would not fit in memory
+        int capacity = pack.handSize;
+        Deck[] decks = new Deck[players];
+        Card[][] hands = new Card[players][];
+        if (method.equals("COPY")) {
+            Card[][][] dealt = copyDeal(pack);
+            for (int i = 0; i < players; i++) {
+                decks[i] = type.create(i+1, dealt[1][i], capacity, WaitStrategy.PARK);
+                hands[i] = dealt[0][i];
+            }
+        } else {
+            for (int i = 0; i < players; i++) {
+                decks[i] = type.deal(i+1, pack.deck(i), capacity, WaitStrategy.PARK);
+                hands[i] = pack.hand(i).toCards();
+            }
+        }
+        return new Object[] {decks, hands};
+    }
+
+    private static Card[][][] copyDeal(Pack pack) {
+        Iterator<Card> cards = pack.iterator();
+        Card[][][] result = new Card[2][pack.playerAmount][pack.handSize];
+        for (int i = 0; i < 2; i++) {
+            for (int cardPos = 0; cardPos < pack.handSize; cardPos++) {
+                for (int playerNum = 0; playerNum < pack.playerAmount; playerNum++) {
+                    result[i][playerNum][cardPos] = cards.next();
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,88 @@
+package benchmarks;
+
+import src.Card;
+import src.Deck;
+import src.DeckType;
+import src.WaitStrategy;
+
+/**
+ * Compares moving cards from a producer thread to a consumer thread one at a time, with
+ * {@link Deck#addCard(Card)} and {@link Deck#pollCard()}, against batches moved with {@link Deck#addAll(Card[])}
+ * and {@link Deck#drainTo(Card[])}. The consumer waits on the deck's wait strategy whenever the deck is empty.
+ * Prints one CSV line per deck type and batch size, a batch size of 1 meaning single card calls.
+ */
+public class DeckBatchTransfer {
+    private static final int[] BATCH_SIZES = {1, 4, 16, 64};
+    private static final int CARDS = 2_000_000;
+    private static final int CAPACITY = 1024;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws InterruptedException {
+        Card[] cards = new Card[CARDS];
+        for (int i = 0; i < CARDS; i++) {
+            cards[i] = Card.valueOf(i % 1000 + 1);
+        }
+
+        System.out.println("deck_type,batch_size,cards_per_second");
+        for (DeckType type : DeckType.values()) {
+            for (int batchSize : BATCH_SIZES) {
+                run(type, batchSize, cards);  // warm up
+                long best = Long.MAX_VALUE;
+                for (int run = 0; run < RUNS; run++) {
+                    best = Math.min(best, run(type, batchSize, cards));
+                }
+                System.out.printf("%s,%d,%.0f%n", type, batchSize, CARDS / (best / 1e9));
+            }
+        }
+    }
+
+    /**
+     * @return nanoseconds to move every card
+     */
+    private static long run(DeckType type, int batchSize, Card[] cards) throws InterruptedException {
+        Deck deck = type.create(1, null, CAPACITY, WaitStrategy.BLOCKING);
+        Thread producer = new Thread(() -> {
+            Card[] batch = new Card[batchSize];
+            for (int next = 0; next < cards.length; ) {
+                try {
+                    if (batchSize == 1) {
+                        deck.addCard(cards[next]);
+                        next++;
+                    } else {
+                        int size = Math.min(batchSize, cards.length - next);
+                        if (size < batch.length) {
+                            batch = new Card[size];
+                        }
+                        System.arraycopy(cards, next, batch, 0, size);
+                        deck.addAll(batch);
+                        next += size;
+                    }
+                } catch (IllegalStateException e) {
+                    Thread.yield();  // ring is full
+                }
+            }
+        });
+
+        long start = System.nanoTime();
+        producer.start();
+        Card[] batch = new Card[batchSize];
+        for (int received = 0; received < cards.length; ) {
+            if (batchSize == 1) {
+                if (deck.pollCard() != null) {
+                    received++;
+                    continue;
+                }
+            } else {
+                int amount = deck.drainTo(batch);
+                if (amount > 0) {
+                    received += amount;
+                    continue;
+                }
+            }
+            deck.waitForCard(10);
+        }
+        long nanos = System.nanoTime() - start;
+        producer.join();
+        return nanos;
+    }
+}
@@ -0,0 +1,81 @@
+package benchmarks;
+
+import src.Card;
+import src.Deck;
+import src.DeckType;
+import src.WaitStrategy;
+
+/**
+ * Compares deck types by passing cards around a ring of decks the way players do,
+ * one thread per player, without any logging or win checks.
+ * Prints one CSV line per deck type and player amount.
+ */
+public class DeckThroughput {
+    private static final int[] PLAYER_AMOUNTS = {4, 64, 1024};
+    private static final long RUN_MILLIS = 2000;
+
+    private static volatile boolean running;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("deck_type,players,moves_per_second");
+        for (int players : PLAYER_AMOUNTS) {
+            for (DeckType type : DeckType.values()) {
+                run(type, players, RUN_MILLIS / 4);  // warm up
+                double movesPerSecond = run(type, players, RUN_MILLIS);
+                System.out.printf("%s,%d,%.0f%n", type, players, movesPerSecond);
+            }
+        }
+    }
+
+    /**
+     * Runs a ring of players that only move cards
+     * @return card moves per second over the whole ring
+     */
+    private static double run(DeckType type, int players, long millis) throws InterruptedException {
+        Deck[] decks = new Deck[players];
+        for (int i = 0; i < players; i++) {
+            Card[] cards = new Card[4];
+            for (int j = 0; j < 4; j++) {
+                cards[j] = new Card(i+1);
+            }
+            decks[i] = type.create(i+1, cards, 4*players, WaitStrategy.BLOCKING);
+        }
+
+        long[] moves = new long[players];
+        Thread[] threads = new Thread[players];
+        running = true;
+        for (int i = 0; i < players; i++) {
+            final int player = i;
+            final Deck left = decks[i];
+            final Deck right = decks[(i+1) % players];
+            threads[i] = new Thread(() -> {
+                long count = 0;
+                while (running) {
+                    if (left.waitForCard(10)) {
+                        continue;
+                    }
+                    right.addCard(left.drawCard());
+                    count++;
+                }
+                moves[player] = count;
+            });
+        }
+
+        long start = System.nanoTime();
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        Thread.sleep(millis);
+        running = false;
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        long total = 0;
+        for (long count : moves) {
+            total += count;
+        }
+        return total / (elapsed / 1e9);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.List;
+
+import src.CardGame;
+import src.GameConfig;
+import src.Pack;
+import src.Player;
+import src.TurnOrder;
+
+/**
+ * Compares turns per second of the threaded engine against {@link src.SimulationEngine}
+ * on a game that only ends once a card has travelled around the whole ring.
+ * Each game runs in its own JVM, see {@link Forked}. Prints one CSV line per engine and player amount.
+ */
+public class EngineThroughput {
+    private static final int[] PLAYER_AMOUNTS = {4, 16, 64};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2) {
+            runGame(args[0], Integer.parseInt(args[1]));
+            return;
+        }
+        System.out.println("engine,players,turns,millis,turns_per_second");
+        for (int players : PLAYER_AMOUNTS) {
+            for (String engine : List.of("THREADED", "SIMULATED")) {
+                Forked.run(EngineThroughput.class, engine, String.valueOf(players)).stream()
+                    .filter(line -> line.startsWith(engine))
+                    .forEach(System.out::println);
+            }
+        }
+    }
+
+    private static void runGame(String engine, int players) throws InterruptedException {
+        Pack pack = Packs.playerOneWinsAfterLap(players);
+        GameConfig config = new GameConfig().setTurnOrder(TurnOrder.ROUND_ROBIN);
+
+        long start = System.nanoTime();
+        CardGame game;
+        if (engine.equals("SIMULATED")) {
+            game = CardGame.simulate(pack, config);
+        } else {
+            game = CardGame.start(pack, config);
+        }
+        game.awaitFinish();
+        long nanos = System.nanoTime() - start;
+
+        long turns = 0;
+        for (Player player : game.getPlayers()) {
+            turns += player.getTurns();
+        }
+        System.out.printf("%s,%d,%d,%d,%.0f%n", engine, players, turns, nanos / 1_000_000, turns / (nanos / 1e9));
+        System.exit(0);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import src.utils.FileIO;
+
+/**
+ * Runs a benchmark's main in a fresh JVM inside a temporary directory,
+ * so each game gets a clean process and its log files are thrown away afterwards
+ */
+public class Forked {
+    /**
+     * @param mainClass class whose main to run
+     * @param args arguments for main
+     * @return lines the child printed to standard output
+     */
+    public static List<String> run(Class<?> mainClass, String... args) throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("benchmark");
+        List<String> command = new ArrayList<>(List.of(
+            Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+            "-cp", absoluteClassPath(),
+            mainClass.getName()
+        ));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command)
+            .directory(dir.toFile())
+            .redirectError(ProcessBuilder.Redirect.INHERIT)
+            .start();
+        List<String> lines;
+        try (Stream<String> output = process.inputReader().lines()) {
+            lines = output.collect(Collectors.toList());
+        }
+        process.waitFor();
+        FileIO.deleteRecursively(dir);
+        return lines;
+    }
+
+    /**
+     * The child runs in another directory, so relative entries of this JVM's class path are resolved here
+     * @return this JVM's class path with every entry made absolute
+     */
+    static String absoluteClassPath(){
+        return Stream.of(System.getProperty("java.class.path").split(File.pathSeparator))
+            .map(entry -> entry.isEmpty() ? "." : entry)
+            .map(entry -> Path.of(entry).toAbsolutePath().toString())
+            .collect(Collectors.joining(File.pathSeparator));
+    }
+}
@@ -0,0 +1,65 @@
+package benchmarks;
+
+import java.util.SplittableRandom;
+
+import src.Deck;
+import src.DeckType;
+import src.GameState;
+import src.Pack;
+import src.Player;
+import src.SimulationEngine;
+import src.TurnOrder;
+import src.WaitStrategy;
+import src.exceptions.InvalidPack;
+import src.logging.LogSink;
+import src.metrics.GameMetrics;
+
+/**
+ * Games set up for stepping directly in benchmarks
+ */
+public class Games {
+    /**
+     * Game with logging off where every value is above the player amount and drawn from a million values,
+     * so nobody holds preferred cards and a win is very unlikely while measuring
+     * @param players player amount
+     * @param handSize cards in each hand
+     * @param deckType storage for the decks
+     * @return the engine, already begun
+     */
+    public static SimulationEngine unlikelyToEnd(int players, int handSize, DeckType deckType) throws InvalidPack {
+        return unlikelyToEnd(players, handSize, deckType, false);
+    }
+
+    /**
+     * See {@link #unlikelyToEnd(int, int, DeckType)}
+     * @param metrics if players record to a {@link GameMetrics}, which is not registered with JMX
+     */
+    public static SimulationEngine unlikelyToEnd(int players, int handSize, DeckType deckType, boolean metrics)
+            throws InvalidPack {
+        SplittableRandom random = new SplittableRandom(handSize);
+        int[] values = new int[2*handSize*players];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = players + 1 + random.nextInt(1_000_000);
+        }
+        Pack pack = new Pack(values, players, handSize);
+
+        GameState state = new GameState();
+        Deck[] decks = new Deck[players];
+        for (int i = 0; i < players; i++) {
+            decks[i] = deckType.deal(i+1, pack.deck(i), handSize*players, WaitStrategy.PARK);
+        }
+        Player[] gamePlayers = new Player[players];
+        for (int i = 0; i < players; i++) {
+            gamePlayers[i] = new Player(i+1, decks[i], decks[(i+1) % players], pack.hand(i).toCards(), state, LogSink.DISABLED);
+        }
+        if (metrics) {
+            GameMetrics gameMetrics = new GameMetrics(decks, state);
+            for (int i = 0; i < players; i++) {
+                gamePlayers[i].setMetrics(gameMetrics.forPlayer(i));
+            }
+        }
+        SimulationEngine engine = new SimulationEngine(gamePlayers, state, TurnOrder.ROUND_ROBIN, 0);
+        engine.begin();
+        return engine;
+    }
+}
@@ -0,0 +1,35 @@
+package benchmarks;
+
+import src.DeckType;
+import src.SimulationEngine;
+import src.exceptions.InvalidPack;
+
+/**
+ * Measures the cost of a turn, including the win check, as hand size grows.
+ * Runs {@link Games#unlikelyToEnd} on {@link SimulationEngine} with logging off. Prints one CSV line per hand size.
+ */
+public class HandSizeScaling {
+    private static final int[] HAND_SIZES = {4, 8, 16, 32, 64};
+    private static final int PLAYERS = 16;
+    private static final int STEPS = 5_000_000;
+
+    public static void main(String[] args) throws InvalidPack {
+        System.out.println("hand_size,turns,ns_per_turn");
+        for (int handSize : HAND_SIZES) {
+            run(handSize, STEPS / 5);  // warm up
+            SimulationEngine engine = Games.unlikelyToEnd(PLAYERS, handSize, DeckType.RING);
+            long start = System.nanoTime();
+            int steps = 0;
+            while (steps < STEPS && !engine.step()) {
+                steps++;
+            }
+            long nanos = System.nanoTime() - start;
+            System.out.printf("%d,%d,%.1f%n", handSize, engine.getTurns(), (double) nanos / engine.getTurns());
+        }
+    }
+
+    private static void run(int handSize, int steps) throws InvalidPack {
+        SimulationEngine engine = Games.unlikelyToEnd(PLAYERS, handSize, DeckType.RING);
+        for (int i = 0; i < steps && !engine.step(); i++) {}
+    }
+}
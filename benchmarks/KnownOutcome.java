@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.util.Arrays;
+
+import src.CardGame;
+import src.GameConfig;
+import src.GameResult;
+import src.Pack;
+import src.PackAnalysis;
+
+/**
+ * Measures {@link PackAnalysis}: how long analysing a generated pack takes, and how long a threaded game takes
+ * from start to result when player 1 is dealt a winning hand. Logging is off.
+ * Prints one CSV line per player amount, best of several runs.
+ */
+public class KnownOutcome {
+    private static final int[] PLAYERS = {100, 1000, 10000};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        GameConfig config = new GameConfig().setOutputDir(null);
+        System.out.println("players,analyse_ms,dealt_winner_game_ms");
+        for (int players : PLAYERS) {
+            Pack generated = Pack.generatePack(players, Pack.DEFAULT_HAND_SIZE, 42);
+            Pack dealtWinner = dealtWinner(players);
+            double analyse = Double.MAX_VALUE;
+            double game = Double.MAX_VALUE;
+            for (int run = 0; run < RUNS; run++) {
+                long start = System.nanoTime();
+                PackAnalysis.of(generated);
+                analyse = Math.min(analyse, (System.nanoTime() - start) / 1e6);
+
+                start = System.nanoTime();
+                GameResult result = CardGame.start(dealtWinner, config).getResult();
+                game = Math.min(game, (System.nanoTime() - start) / 1e6);
+                if (result.winner != 1) {
+                    throw new IllegalStateException("Player 1 did not win");
+                }
+            }
+            System.out.printf("%d,%.3f,%.3f%n", players, analyse, game);
+        }
+    }
+
+    /**
+     * Player 1 is dealt four 1s, every other card has a distinct value that is not a player number
+     */
+    private static Pack dealtWinner(int n) throws Exception {
+        int[] values = new int[8*n];
+        Arrays.setAll(values, i -> n + 1 + i);
+        for (int cardPos = 0; cardPos < 4; cardPos++) {
+            values[cardPos*n] = 1;
+        }
+        return new Pack(values, n);
+    }
+}
@@ -0,0 +1,62 @@
+package benchmarks;
+
+import src.CardGame;
+import src.GameConfig;
+import src.Pack;
+import src.Player;
+import src.logging.LogMode;
+
+/**
+ * Compares turns per second of threaded games under each {@link LogMode}, with logging off as the upper bound.
+ * Games only end once a card has travelled around the whole ring, so most time is spent logging turns.
+ * Each game runs in its own JVM, see {@link Forked}. Prints one CSV line per mode and player amount.
+ */
+public class LogThroughput {
+    private static final int[] PLAYER_AMOUNTS = {4, 64, 256};
+    private static final String DISABLED = "DISABLED";
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2) {
+            runGame(args[0], Integer.parseInt(args[1]));
+            return;
+        }
+        System.out.println("mode,players,turns,millis,turns_per_second");
+        for (int players : PLAYER_AMOUNTS) {
+            String[] modes = new String[LogMode.values().length + 1];
+            for (int i = 0; i < LogMode.values().length; i++) {
+                modes[i] = LogMode.values()[i].toString();
+            }
+            modes[modes.length - 1] = DISABLED;
+            for (String mode : modes) {
+                String line = Forked.run(LogThroughput.class, mode, String.valueOf(players)).stream()
+                    .filter(output -> output.startsWith(mode))
+                    .findFirst()
+                    .orElse(mode+","+players+",failed,,");
+                System.out.println(line);
+            }
+        }
+    }
+
+    private static void runGame(String mode, int players) throws InterruptedException {
+        Pack pack = Packs.playerOneWinsAfterLap(players);
+        GameConfig config = new GameConfig()
+            .setLogWriters(Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+        if (mode.equals(DISABLED)) {
+            config.setOutputDir(null);
+        } else {
+            config.setLogMode(LogMode.valueOf(mode));
+        }
+
+        long start = System.nanoTime();
+        CardGame game = CardGame.start(pack, config);
+        game.awaitFinish();
+        long nanos = System.nanoTime() - start;
+
+        long turns = 0;
+        for (Player player : game.getPlayers()) {
+            turns += player.getTurns();
+        }
+        System.out.printf("%s,%d,%d,%d,%.0f%n", mode, players, turns, nanos / 1_000_000, turns / (nanos / 1e9));
+        System.exit(0);
+    }
+}
@@ -0,0 +1,44 @@
+package benchmarks;
+
+import src.DeckType;
+import src.SimulationEngine;
+import src.exceptions.InvalidPack;
+
+/**
+ * Measures what live metrics cost the turn loop: turns per second of {@link Games#unlikelyToEnd} on
+ * {@link SimulationEngine} with metrics off and on. Each mode runs in its own JVM so the other mode's classes
+ * never reach the turn loop's call sites. Prints one CSV line per mode and deck type, best of several runs.
+ */
+public class MetricsOverhead {
+    private static final int PLAYERS = 16;
+    private static final int STEPS = 5_000_000;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2) {
+            runGame(args[0], DeckType.valueOf(args[1]));
+            return;
+        }
+        System.out.println("metrics,deck_type,turns_per_second");
+        for (DeckType type : DeckType.values()) {
+            for (String mode : new String[] {"OFF", "ON"}) {
+                Forked.run(MetricsOverhead.class, mode, type.name()).forEach(System.out::println);
+            }
+        }
+    }
+
+    private static void runGame(String mode, DeckType type) throws InvalidPack {
+        SimulationEngine engine = Games.unlikelyToEnd(PLAYERS, 4, type, mode.equals("ON"));
+        for (int i = 0; i < STEPS && !engine.step(); i++) {}  // warm up
+
+        double best = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long turnsBefore = engine.getTurns();
+            long start = System.nanoTime();
+            for (int i = 0; i < STEPS && !engine.step(); i++) {}
+            long nanos = System.nanoTime() - start;
+            best = Math.max(best, (engine.getTurns() - turnsBefore) / (nanos / 1e9));
+        }
+        System.out.printf("%s,%s,%.0f%n", mode, type, best);
+    }
+}
@@ -0,0 +1,83 @@
+package benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import src.Pack;
+import src.PackArchive;
+import src.utils.FileIO;
+
+/**
+ * Compares loading many packs from one text file each against loading them from a {@link PackArchive},
+ * reading all of them in order and a sample at random indices. Prints one CSV line per source and access pattern.
+ */
+public class PackArchiveLoad {
+    private static final int PACKS = 20_000;
+    private static final int SAMPLE = 2_000;
+
+    public static void main(String[] args) throws Exception {
+        Path dir = Files.createTempDirectory("packs");
+        try {
+            SplittableRandom random = new SplittableRandom(0);
+            int[] players = new int[PACKS];
+            String[] textFiles = new String[PACKS];
+            String archive = dir.resolve("packs.bin").toString();
+            try (PackArchive.Writer writer = PackArchive.create(archive)) {
+                for (int i = 0; i < PACKS; i++) {
+                    players[i] = 4 + random.nextInt(61);
+                    Pack pack = Pack.generatePack(players[i]);
+                    textFiles[i] = dir.resolve("pack"+i+".txt").toString();
+                    pack.writeToFile(textFiles[i]);
+                    writer.add(pack);
+                }
+            }
+            long textBytes = 0;
+            for (String textFile : textFiles) {
+                textBytes += Files.size(Path.of(textFile));
+            }
+
+            System.out.println("source,access,packs,millis,bytes_on_disk");
+            for (int run = 0; run < 2; run++) {  // first run warms up
+                long start = System.nanoTime();
+                for (int i = 0; i < PACKS; i++) {
+                    Pack.readPack(textFiles[i], players[i]);
+                }
+                print(run, "TEXT", "ALL", PACKS, start, textBytes);
+
+                start = System.nanoTime();
+                try (PackArchive packArchive = PackArchive.open(archive)) {
+                    for (int i = 0; i < packArchive.size(); i++) {
+                        packArchive.get(i);
+                    }
+                }
+                print(run, "ARCHIVE", "ALL", PACKS, start, Files.size(Path.of(archive)));
+
+                SplittableRandom sample = new SplittableRandom(run);
+                start = System.nanoTime();
+                for (int i = 0; i < SAMPLE; i++) {
+                    int index = sample.nextInt(PACKS);
+                    Pack.readPack(textFiles[index], players[index]);
+                }
+                print(run, "TEXT", "RANDOM", SAMPLE, start, textBytes);
+
+                sample = new SplittableRandom(run);
+                start = System.nanoTime();
+                try (PackArchive packArchive = PackArchive.open(archive)) {
+                    for (int i = 0; i < SAMPLE; i++) {
+                        packArchive.get(sample.nextInt(PACKS));
+                    }
+                }
+                print(run, "ARCHIVE", "RANDOM", SAMPLE, start, Files.size(Path.of(archive)));
+            }
+        } finally {
+            FileIO.deleteRecursively(dir);
+        }
+    }
+
+    private static void print(int run, String source, String access, int packs, long start, long bytes) {
+        if (run > 0) {
+            System.out.printf("%s,%s,%d,%d,%d%n", source, access, packs, (System.nanoTime() - start) / 1_000_000, bytes);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.SplittableRandom;
+
+import src.Card;
+import src.CardGame;
+import src.Pack;
+
+/**
+ * Compares the heap a generated and dealt pack takes when every card is its own object, as packs used to be,
+ * against an int-backed {@link Pack} dealt through {@link Card#valueOf(int)}. Reports bytes allocated while
+ * generating and dealing, from the JVM's per-thread allocation counter, and heap still used after a collection.
+ * Prints one CSV line per layout and player amount.
+ */
+public class PackFootprint {
+    private static final int[] PLAYER_AMOUNTS = {100_000, 1_000_000};
+    private static final long SEED = 42;
+
+    private static Object retained;
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long thread = Thread.currentThread().getId();
+
+        System.out.println("layout,players,allocated_bytes,retained_bytes,retained_bytes_per_card");
+        for (int players : PLAYER_AMOUNTS) {
+            for (String layout : new String[] {"OBJECTS", "FLYWEIGHT"}) {
+                deal(layout, players);  // warm up
+                retained = null;
+                long heapBefore = usedAfterGc(memory);
+                long bytesBefore = threads.getThreadAllocatedBytes(thread);
+                retained = deal(layout, players);
+                long allocated = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+                long held = usedAfterGc(memory) - heapBefore;
+                long cards = 8L * players;
+                System.out.printf("%s,%d,%d,%d,%.1f%n", layout, players, allocated, held, (double) held / cards);
+                retained = null;
+            }
+        }
+    }
+
+    /**
+     * @return the pack and its dealt hands and decks, so both stay reachable
+     */
+    private static Object[] deal(String layout, int players) throws Exception {
+        if (layout.equals("FLYWEIGHT")) {
+            Pack pack = Pack.generatePack(players, Pack.DEFAULT_HAND_SIZE, SEED);
+            return new Object[] {pack, CardGame.dealCards(pack)};
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        Card[] pack = new Card[8*players];
+        for (int i = 0; i < pack.length; i++) {
+            pack[i] = new Card(random.nextInt(1, players+1));
+        }
+        Card[][][] dealt = new Card[2][players][Pack.DEFAULT_HAND_SIZE];
+        int next = 0;
+        for (int i = 0; i < 2; i++) {
+            for (int cardPos = 0; cardPos < Pack.DEFAULT_HAND_SIZE; cardPos++) {
+                for (int playerNum = 0; playerNum < players; playerNum++) {
+                    dealt[i][playerNum][cardPos] = pack[next++];
+                }
+            }
+        }
+        return new Object[] {pack, dealt};
+    }
+
+    private static long usedAfterGc(MemoryMXBean memory) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
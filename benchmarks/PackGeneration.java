@@ -0,0 +1,64 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import src.Card;
+import src.Pack;
+
+/**
+ * Compares generating packs from the shared {@link Math#random()} generator, as {@link Pack#generatePack} used to,
+ * against the seeded splittable generator, with one thread generating a large pack and with several threads
+ * generating packs at once. Prints one CSV line per generator, player amount and thread amount.
+ */
+public class PackGeneration {
+    private static final int[] PLAYER_AMOUNTS = {10_000, 1_000_000};
+    private static final int[] THREADS = {1, 4};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("generator,players,threads,millis,cards_per_second");
+        for (int players : PLAYER_AMOUNTS) {
+            for (int threads : THREADS) {
+                for (String generator : new String[] {"MATH_RANDOM", "SEEDED"}) {
+                    long best = Long.MAX_VALUE;
+                    for (int run = 0; run < RUNS; run++) {
+                        best = Math.min(best, time(generator, players, threads, run));
+                    }
+                    long cards = 8L * players * threads;
+                    System.out.printf("%s,%d,%d,%d,%.0f%n", generator, players, threads, best / 1_000_000, cards / (best / 1e9));
+                }
+            }
+        }
+    }
+
+    private static long time(String generator, int players, int threads, long seed) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int t = 0; t < threads; t++) {
+                long threadSeed = seed * threads + t;
+                futures.add(executor.submit(() -> {
+                    if (generator.equals("MATH_RANDOM")) {
+                        Card[] pack = new Card[8*players];
+                        for (int i = 0; i < pack.length; i++) {
+                            pack[i] = new Card((int) ((Math.random() * players) + 1));
+                        }
+                        return pack;
+                    }
+                    return Pack.generatePack(players, Pack.DEFAULT_HAND_SIZE, threadSeed);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return System.nanoTime() - start;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
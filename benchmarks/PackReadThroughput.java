@@ -0,0 +1,50 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import src.Pack;
+import src.utils.FileIO;
+
+/**
+ * Compares reading a pack file line by line into strings, as {@link Pack#readPack} used to,
+ * against {@link Pack#readPack} parsing the memory-mapped file directly.
+ * Reports time and bytes allocated per read, best of several runs. Prints one CSV line per reader and player amount.
+ */
+public class PackReadThroughput {
+    private static final int[] PLAYER_AMOUNTS = {1000, 100_000, 1_000_000};
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        System.out.println("reader,players,millis,bytes_allocated");
+        for (int players : PLAYER_AMOUNTS) {
+            Path file = Files.createTempFile("pack", ".txt");
+            try {
+                Pack.generatePack(players).writeToFile(file.toString());
+                for (String reader : new String[] {"LINES", "MAPPED"}) {
+                    long bestNanos = Long.MAX_VALUE;
+                    long bytes = 0;
+                    for (int run = 0; run < RUNS; run++) {
+                        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+                        long start = System.nanoTime();
+                        if (reader.equals("LINES")) {
+                            Pack.validatePack(FileIO.fileToLines(file.toString(), 8*players), players);
+                        } else {
+                            Pack.readPack(file.toString(), players);
+                        }
+                        bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+                        bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+                    }
+                    System.out.printf("%s,%d,%d,%d%n", reader, players, bestNanos / 1_000_000, bytes);
+                }
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+}
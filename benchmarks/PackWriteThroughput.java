@@ -0,0 +1,65 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import src.Pack;
+import src.utils.FileIO;
+
+/**
+ * Compares writing a pack as one string, as {@link Pack#writeToFile} used to, against streaming it,
+ * and against generating it straight into the file with {@link Pack#writeGeneratedPack}.
+ * Generation is included in every time. Reports time and bytes allocated, best of several runs.
+ * The largest player amount is only generated straight into the file, the others need the whole pack in heap.
+ * Prints one CSV line per writer and player amount.
+ */
+public class PackWriteThroughput {
+    private static final int[] PLAYER_AMOUNTS = {100_000, 1_000_000, 10_000_000};
+    private static final int STREAM_ONLY_PLAYERS = 10_000_000;
+    private static final int RUNS = 3;
+
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        System.out.println("writer,players,millis,bytes_allocated,file_bytes");
+        for (int players : PLAYER_AMOUNTS) {
+            Path file = Files.createTempFile("pack", ".txt");
+            try {
+                String[] writers = players >= STREAM_ONLY_PLAYERS
+                    ? new String[] {"GENERATE_STREAM"}
+                    : new String[] {"STRING", "STREAM", "GENERATE_STREAM"};
+                for (String writer : writers) {
+                    long bestNanos = Long.MAX_VALUE;
+                    long bytes = 0;
+                    for (int run = 0; run < RUNS; run++) {
+                        long bytesBefore = threads.getThreadAllocatedBytes(thread);
+                        long start = System.nanoTime();
+                        write(writer, players, file.toString());
+                        bestNanos = Math.min(bestNanos, System.nanoTime() - start);
+                        bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+                    }
+                    System.out.printf("%s,%d,%d,%d,%d%n", writer, players, bestNanos / 1_000_000, bytes, Files.size(file));
+                }
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void write(String writer, int players, String filename) throws Exception {
+        switch (writer) {
+            case "STRING":
+                FileIO.writeToFile(filename, Pack.generatePack(players, Pack.DEFAULT_HAND_SIZE, 0).toString());
+                break;
+            case "STREAM":
+                Pack.generatePack(players, Pack.DEFAULT_HAND_SIZE, 0).writeToFile(filename);
+                break;
+            default:
+                Pack.writeGeneratedPack(filename, players, Pack.DEFAULT_HAND_SIZE, 0);
+                break;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package benchmarks;
+
+import src.Pack;
+import src.exceptions.InvalidPack;
+
+/**
+ * Packs with known outcomes for benchmarks
+ */
+public class Packs {
+    /**
+     * Pack where player 1 wins on its first draw and no other player can ever win,
+     * every other card has a distinct value that is not a player number
+     * @param n player amount
+     * @return the pack
+     */
+    public static Pack playerOneWins(int n) {
+        int[] values = new int[8*n];
+        int unique = n + 1;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = unique++;
+        }
+        // player 1 is dealt position 0 of every round, hands first then decks
+        for (int cardPos = 0; cardPos < 4; cardPos++) {
+            values[cardPos*n] = 1;
+            values[4*n + cardPos*n] = 1;
+        }
+        if (n > 1) {
+            values[3*n] = unique;  // player 1's only card to discard
+        }
+        try {
+            return new Pack(values, n);
+        } catch (InvalidPack e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Pack where player 1 holds three 1s and the only other 1 is at the bottom of deck 2,
+     * so it has to travel through every other player before player 1 wins.
+     * No other player can ever win.
+     * @param n player amount, at least 2
+     * @return the pack
+     */
+    public static Pack playerOneWinsAfterLap(int n) {
+        int[] values = new int[8*n];
+        int unique = n + 1;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = unique++;
+        }
+        for (int cardPos = 0; cardPos < 3; cardPos++) {
+            values[cardPos*n] = 1;
+        }
+        values[4*n + 3*n + 1] = 1;
+        try {
+            return new Pack(values, n);
+        } catch (InvalidPack e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Pack where every card has a distinct value that is not a player number, so nobody can ever win
+     * and cards keep moving around the ring until the game is stopped from outside
+     * @param n player amount
+     * @return the pack
+     */
+    public static Pack nobodyWins(int n) {
+        int[] values = new int[8*n];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = n + 1 + i;
+        }
+        try {
+            return new Pack(values, n);
+        } catch (InvalidPack e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
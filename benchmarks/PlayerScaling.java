@@ -0,0 +1,85 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import src.CardGame;
+import src.GameConfig;
+import src.Pack;
+import src.utils.VirtualThreads;
+
+/**
+ * Reports memory per player and time to completion as player amount grows, for each way of running players.
+ * Each game runs in its own JVM, see {@link Forked}, so peak RSS does not carry over.
+ * Prints one CSV line per mode and player amount.
+ */
+public class PlayerScaling {
+    private static final int[] PLAYER_AMOUNTS = {1000, 4000, 16000, 100000};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2) {
+            runGame(args[0], Integer.parseInt(args[1]));
+            return;
+        }
+
+        List<String> modes = new ArrayList<>(List.of("PLATFORM", "CACHED_POOL"));
+        if (VirtualThreads.isSupported()) {
+            modes.add("VIRTUAL");
+        }
+        System.out.println("mode,players,millis,rss_bytes_per_player");
+        for (String mode : modes) {
+            for (int players : PLAYER_AMOUNTS) {
+                System.out.println(runChild(mode, players));
+            }
+        }
+    }
+
+    private static String runChild(String mode, int players) throws IOException, InterruptedException {
+        return Forked.run(PlayerScaling.class, mode, String.valueOf(players)).stream()
+            .filter(line -> line.startsWith(mode))
+            .findFirst()
+            .orElse(mode+","+players+",failed,");
+    }
+
+    private static void runGame(String mode, int players) throws IOException, InterruptedException {
+        GameConfig config = new GameConfig();
+        switch (mode) {
+            case "CACHED_POOL":
+                config.setExecutor(Executors.newCachedThreadPool());
+                break;
+            case "VIRTUAL":
+                config.useVirtualThreads();
+                break;
+            default:
+                break;
+        }
+        Pack pack = Packs.playerOneWins(players);
+        System.gc();
+        long rssBefore = readStatus("VmRSS:");
+
+        long start = System.nanoTime();
+        CardGame game = CardGame.start(pack, config);
+        game.awaitFinish();
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        long rssPeak = readStatus("VmHWM:");
+        System.out.printf("%s,%d,%d,%d%n", mode, players, millis, (rssPeak - rssBefore) / players);
+        System.exit(0);
+    }
+
+    /**
+     * @return the value of a field in /proc/self/status in bytes
+     */
+    private static long readStatus(String field) throws IOException {
+        for (String line : Files.readAllLines(Path.of("/proc/self/status"))) {
+            if (line.startsWith(field)) {
+                return Long.parseLong(line.substring(field.length()).replace("kB", "").strip()) * 1024;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,111 @@
+package benchmarks;
+
+import java.util.Locale;
+
+import src.CardGame;
+import src.GameConfig;
+import src.GameSnapshot;
+import src.Pack;
+import src.Player;
+
+/**
+ * Measures live snapshots of a threaded game nobody can win, with logging off: how many turns per second
+ * players take with snapshots disabled, with them enabled but none taken, and with one taken every second,
+ * and how long one snapshot takes.
+ * <p>
+ * Every run of every mode gets its own JVM, see {@link Forked}, and the modes take turns so drift in the machine
+ * spreads over all of them. Prints one CSV line per player amount and mode, the mean of
+ * {@link Suite#MEASUREMENT_ITERATIONS} runs with its 99.9% error the way {@link Suite} reports it.
+ * Differences between modes smaller than their errors are noise, not snapshot cost.
+ * <p>
+ * A snapshot waits until every player has been scheduled and reached a turn, so with a platform thread per
+ * player and few processors a 10000 player game takes minutes per snapshot and is left out.
+ */
+public class SnapshotCost {
+    private static final int[] PLAYER_AMOUNTS = {1000, 3000};
+    private static final long PERIOD_MILLIS = 1000;
+    private static final int PERIODS = 5;
+    private static final String SCORE_PREFIX = "score:";
+
+    private enum Mode {
+        DISABLED, ENABLED, SNAPSHOTS
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2) {
+            runGame(Integer.parseInt(args[0]), Mode.valueOf(args[1]));
+            return;
+        }
+        System.out.println("players,mode,turns_per_second,turns_per_second_error,snapshot_ms,snapshot_ms_error");
+        int runs = Suite.MEASUREMENT_ITERATIONS;
+        for (int players : PLAYER_AMOUNTS) {
+            Mode[] modes = Mode.values();
+            double[][] turnsPerSecond = new double[modes.length][runs];
+            double[] snapshotMillis = new double[runs];
+            for (int run = 0; run < runs; run++) {
+                for (Mode mode : modes) {
+                    String[] score = Forked.run(SnapshotCost.class, String.valueOf(players), mode.name()).stream()
+                        .filter(output -> output.startsWith(SCORE_PREFIX))
+                        .findFirst()
+                        .orElseThrow(() -> new IllegalStateException(players+" players "+mode+" printed no score"))
+                        .substring(SCORE_PREFIX.length())
+                        .split(",");
+                    turnsPerSecond[mode.ordinal()][run] = Double.parseDouble(score[0]);
+                    if (mode == Mode.SNAPSHOTS) {
+                        snapshotMillis[run] = Double.parseDouble(score[1]);
+                    }
+                }
+            }
+            for (Mode mode : modes) {
+                double mean = Suite.mean(turnsPerSecond[mode.ordinal()]);
+                String snapshot = ",";
+                if (mode == Mode.SNAPSHOTS) {
+                    double snapshotMean = Suite.mean(snapshotMillis);
+                    snapshot = String.format(
+                        Locale.ROOT, "%.2f,%.2f", snapshotMean, Suite.error(snapshotMillis, snapshotMean)
+                    );
+                }
+                System.out.printf(
+                    Locale.ROOT, "%d,%s,%.0f,%.0f,%s%n",
+                    players, mode, mean, Suite.error(turnsPerSecond[mode.ordinal()], mean), snapshot
+                );
+            }
+        }
+    }
+
+    private static void runGame(int players, Mode mode) throws InterruptedException {
+        Pack pack = Packs.nobodyWins(players);
+        GameConfig config = new GameConfig().setOutputDir(null).setSnapshotsEnabled(mode != Mode.DISABLED);
+
+        CardGame game = CardGame.start(pack, config);
+        Thread.sleep(2 * PERIOD_MILLIS);  // warm up
+        double snapshotMillis = 0;
+        long turns = turns(game);
+        long start = System.nanoTime();
+        for (int period = 0; period < PERIODS; period++) {
+            long periodStart = System.nanoTime();
+            if (mode == Mode.SNAPSHOTS) {
+                GameSnapshot snapshot = game.snapshot();
+                if (snapshot.getCardCount() != pack.size()) {
+                    throw new IllegalStateException("Snapshot lost cards");
+                }
+            }
+            long millis = (System.nanoTime() - periodStart) / 1_000_000;
+            snapshotMillis += (System.nanoTime() - periodStart) / 1e6;
+            Thread.sleep(Math.max(0, PERIOD_MILLIS - millis));
+        }
+        double turnsPerSecond = (turns(game) - turns) / ((System.nanoTime() - start) / 1e9);
+        game.getState().endWithoutWinner();
+        game.awaitFinish();
+
+        System.out.printf(Locale.ROOT, "%s%f,%f%n", SCORE_PREFIX, turnsPerSecond, snapshotMillis / PERIODS);
+    }
+
+    private static long turns(CardGame game) {
+        long turns = 0;
+        for (Player player : game.getPlayers()) {
+            turns += player.getTurns();
+        }
+        return turns;
+    }
+}
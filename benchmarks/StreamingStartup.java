@@ -0,0 +1,73 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import src.CardGame;
+import src.GameConfig;
+import src.Pack;
+
+/**
+ * Compares starting a game by reading the whole pack file into a {@link Pack} and dealing it, against
+ * {@link CardGame#start(String, int, int, GameConfig)} dealing each value as it is read from the file.
+ * Each start runs in its own JVM, which reports the time to a dealt game and the peak heap used on the way,
+ * including the dealt game itself. Players are never run. Prints one CSV line per method and player amount.
+ */
+public class StreamingStartup {
+    private static final int[] PLAYER_AMOUNTS = {100_000, 1_000_000};
+
+    private static Object retained;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3) {
+            startOnce(args[0], args[1], Integer.parseInt(args[2]));
+            return;
+        }
+
+        System.out.println("method,players,millis,peak_heap_bytes");
+        for (int players : PLAYER_AMOUNTS) {
+            Path file = Files.createTempFile("pack", ".txt");
+            try {
+                Pack.writeGeneratedPack(file.toString(), players, Pack.DEFAULT_HAND_SIZE, 42);
+                for (String method : new String[] {"READ_THEN_DEAL", "STREAM"}) {
+                    List<String> lines = Forked.run(
+                        StreamingStartup.class, method, file.toAbsolutePath().toString(), String.valueOf(players)
+                    );
+                    System.out.printf("%s,%d,%s%n", method, players, lines.get(lines.size() - 1));
+                }
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static void startOnce(String method, String file, int players) throws Exception {
+        // players are never run, only dealt
+        GameConfig config = new GameConfig().setOutputDir(null).setExecutor(task -> {});
+        List<MemoryPoolMXBean> pools = ManagementFactory.getMemoryPoolMXBeans();
+        System.gc();
+        for (MemoryPoolMXBean pool : pools) {
+            pool.resetPeakUsage();
+        }
+
+        long start = System.nanoTime();
+        if (method.equals("STREAM")) {
+            retained = CardGame.start(file, players, Pack.DEFAULT_HAND_SIZE, config);
+        } else {
+            retained = CardGame.start(Pack.readPack(file, players), config);
+        }
+        long nanos = System.nanoTime() - start;
+
+        long peak = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        System.out.println(nanos / 1_000_000 + "," + peak);
+    }
+}
@@ -0,0 +1,307 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import src.Card;
+import src.CardGame;
+import src.Deck;
+import src.DeckType;
+import src.GameConfig;
+import src.GameState;
+import src.Pack;
+import src.Player;
+import src.WaitStrategy;
+import src.logging.LogSink;
+
+/**
+ * Throughput benchmarks of packs, decks, players and whole games, run from one entry point.
+ * Each case runs in its own JVM, warms up and then measures several fixed-length iterations of calling its
+ * workload in a loop, the way JMH's throughput mode does. Results are printed as CSV and written as JSON in the
+ * layout of JMH's {@code -rf json}, so the usual JMH result tools can read them.
+ * <p>
+ * Usage: {@code java benchmarks.Suite [results file, default suite-results.json] [regex of cases to run]},
+ * cases are named like {@code Pack.readPack:players=1000}
+ */
+public class Suite {
+    private static final int WARMUP_ITERATIONS = 3;
+    static final int MEASUREMENT_ITERATIONS = 5;
+    private static final long ITERATION_NANOS = 1_000_000_000L;
+    /** Student's t for a 99.9% confidence interval over the measurement iterations, 4 degrees of freedom */
+    private static final double T_999 = 8.610;
+    private static final String SCORE_PREFIX = "score:";
+
+    /**
+     * One call of a benchmark, the returned value is kept so the work cannot be optimised away
+     */
+    interface Workload extends AutoCloseable {
+        long run() throws Exception;
+
+        @Override
+        default void close() throws IOException {}
+    }
+
+    interface Fixture {
+        Workload setUp(String param) throws Exception;
+    }
+
+    private static class Case {
+        final String benchmark;
+        final String paramName;
+        final String[] params;
+        final Fixture fixture;
+
+        Case(String benchmark, String paramName, String[] params, Fixture fixture) {
+            this.benchmark = benchmark;
+            this.paramName = paramName;
+            this.params = params;
+            this.fixture = fixture;
+        }
+    }
+
+    private static final List<Case> CASES = List.of(
+        new Case("Pack.readPack", "players", new String[] {"1000", "100000"}, Suite::readPack),
+        new Case("Pack.generatePack", "players", new String[] {"1000", "100000", "1000000"}, Suite::generatePack),
+        new Case("Deck.addDraw", "deckType", names(DeckType.values()), Suite::addDraw),
+        new Case("Deck.handoff", "deckType", names(DeckType.values()), Suite::handoff),
+        new Case("Player.isWinningHand", "handSize", new String[] {"4", "16"}, Suite::isWinningHand),
+        new Case("Game.start", "players", new String[] {"2", "8", "64", "512"}, Suite::game)
+    );
+
+    private static volatile long blackhole;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3 && args[0].equals("--fork")) {
+            runFork(args[1], args[2]);
+            return;
+        }
+
+        Path results = Path.of(args.length > 0 ? args[0] : "suite-results.json");
+        Pattern filter = Pattern.compile(args.length > 1 ? args[1] : ".*");
+        List<String> json = new ArrayList<>();
+        System.out.println("benchmark,param,score,score_error,unit");
+        for (Case benchmarkCase : CASES) {
+            for (String param : benchmarkCase.params) {
+                String name = benchmarkCase.benchmark+":"+benchmarkCase.paramName+"="+param;
+                if (!filter.matcher(name).find()) {
+                    continue;
+                }
+                // games print their winner, so scores are told apart by a prefix
+                double[] scores = Forked.run(Suite.class, "--fork", benchmarkCase.benchmark, param).stream()
+                    .filter(line -> line.startsWith(SCORE_PREFIX))
+                    .mapToDouble(line -> Double.parseDouble(line.substring(SCORE_PREFIX.length())))
+                    .toArray();
+                if (scores.length != MEASUREMENT_ITERATIONS) {
+                    System.err.println(name+" failed");
+                    continue;
+                }
+                double mean = mean(scores);
+                double error = error(scores, mean);
+                System.out.printf(Locale.ROOT, "%s,%s,%.3f,%.3f,ops/s%n", benchmarkCase.benchmark, param, mean, error);
+                json.add(toJson(benchmarkCase, param, scores, mean, error));
+            }
+        }
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(results))) {
+            writer.println("[");
+            writer.println(String.join(",\n", json));
+            writer.println("]");
+        }
+    }
+
+    /**
+     * Runs one case in this JVM, printing the score of each measurement iteration
+     */
+    private static void runFork(String benchmark, String param) throws Exception {
+        Case benchmarkCase = CASES.stream().filter(c -> c.benchmark.equals(benchmark)).findFirst().orElseThrow();
+        try (Workload workload = benchmarkCase.fixture.setUp(param)) {
+            // Calls between reads of the clock, doubled during warm up until a batch takes a millisecond
+            long batch = 1;
+            long sum = 0;
+            for (int iteration = 0; iteration < WARMUP_ITERATIONS + MEASUREMENT_ITERATIONS; iteration++) {
+                boolean warmup = iteration < WARMUP_ITERATIONS;
+                long ops = 0;
+                long start = System.nanoTime();
+                long now = start;
+                while (now - start < ITERATION_NANOS) {
+                    long batchStart = now;
+                    for (long i = 0; i < batch; i++) {
+                        sum += workload.run();
+                    }
+                    ops += batch;
+                    now = System.nanoTime();
+                    if (warmup && now - batchStart < 1_000_000) {
+                        batch *= 2;
+                    }
+                }
+                if (!warmup) {
+                    System.out.println(SCORE_PREFIX + ops / ((now - start) / 1e9));
+                }
+            }
+            blackhole = sum;
+        }
+    }
+
+    static double mean(double[] scores) {
+        double sum = 0;
+        for (double score : scores) {
+            sum += score;
+        }
+        return sum / scores.length;
+    }
+
+    /**
+     * @param scores one score per measurement iteration, {@link #MEASUREMENT_ITERATIONS} of them
+     * @param mean mean of the scores
+     * @return half width of the 99.9% confidence interval around the mean
+     */
+    static double error(double[] scores, double mean) {
+        double squares = 0;
+        for (double score : scores) {
+            squares += (score - mean) * (score - mean);
+        }
+        return T_999 * Math.sqrt(squares / (scores.length - 1)) / Math.sqrt(scores.length);
+    }
+
+    private static String toJson(Case benchmarkCase, String param, double[] scores, double mean, double error) {
+        StringBuilder raw = new StringBuilder();
+        for (double score : scores) {
+            raw.append(raw.length() == 0 ? "" : ", ").append(String.format(Locale.ROOT, "%.3f", score));
+        }
+        return String.format(Locale.ROOT, String.join("\n",
+            "  {",
+            "    \"benchmark\": \"benchmarks.Suite.%s\",",
+            "    \"mode\": \"thrpt\",",
+            "    \"threads\": 1,",
+            "    \"forks\": 1,",
+            "    \"warmupIterations\": %d,",
+            "    \"warmupTime\": \"1 s\",",
+            "    \"measurementIterations\": %d,",
+            "    \"measurementTime\": \"1 s\",",
+            "    \"params\": {\"%s\": \"%s\"},",
+            "    \"primaryMetric\": {",
+            "      \"score\": %.3f,",
+            "      \"scoreError\": %.3f,",
+            "      \"scoreConfidence\": [%.3f, %.3f],",
+            "      \"scoreUnit\": \"ops/s\",",
+            "      \"rawData\": [[%s]]",
+            "    }",
+            "  }"),
+            benchmarkCase.benchmark, WARMUP_ITERATIONS, MEASUREMENT_ITERATIONS, benchmarkCase.paramName, param,
+            mean, error, mean - error, mean + error, raw
+        );
+    }
+
+    private static String[] names(Enum<?>[] values) {
+        String[] names = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = values[i].name();
+        }
+        return names;
+    }
+
+    private static Workload readPack(String param) throws Exception {
+        int players = Integer.parseInt(param);
+        Path file = Files.createTempFile("pack", ".txt");
+        Pack.writeGeneratedPack(file.toString(), players, Pack.DEFAULT_HAND_SIZE, 42);
+        return new Workload() {
+            @Override
+            public long run() throws Exception {
+                return Pack.readPack(file.toString(), players).size();
+            }
+
+            @Override
+            public void close() throws IOException {
+                Files.delete(file);
+            }
+        };
+    }
+
+    private static Workload generatePack(String param) {
+        int players = Integer.parseInt(param);
+        long[] seed = {0};
+        return () -> Pack.generatePack(players, Pack.DEFAULT_HAND_SIZE, seed[0]++).size();
+    }
+
+    /**
+     * One thread adds a card to the bottom of a deck and draws one from its top
+     */
+    private static Workload addDraw(String param) {
+        Deck deck = DeckType.valueOf(param).create(1, new Card[] {Card.valueOf(1)}, 4, WaitStrategy.BLOCKING);
+        Card card = Card.valueOf(2);
+        return () -> {
+            deck.addCard(card);
+            return deck.drawCard().value;
+        };
+    }
+
+    /**
+     * Another thread keeps adding cards while the measured thread draws them, waiting whenever the deck is empty
+     */
+    private static Workload handoff(String param) {
+        int capacity = 1024;
+        Deck deck = DeckType.valueOf(param).create(1, null, capacity, WaitStrategy.BLOCKING);
+        Card card = Card.valueOf(1);
+        AtomicLong drawn = new AtomicLong();
+        Thread producer = new Thread(() -> {
+            // Keeps the deck below its capacity, queue decks are unbounded
+            for (long added = 0; !Thread.currentThread().isInterrupted(); ) {
+                if (added - drawn.get() < capacity) {
+                    deck.addCard(card);
+                    added++;
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.setDaemon(true);
+        producer.start();
+        return new Workload() {
+            @Override
+            public long run() {
+                Card next;
+                while ((next = deck.pollCard()) == null) {
+                    deck.waitForCard(10);
+                }
+                drawn.lazySet(drawn.get() + 1);
+                return next.value;
+            }
+
+            @Override
+            public void close() {
+                producer.interrupt();
+            }
+        };
+    }
+
+    /**
+     * A hand one card away from winning, so the check cannot stop at the first two cards
+     */
+    private static Workload isWinningHand(String param) {
+        int handSize = Integer.parseInt(param);
+        Card[] hand = new Card[handSize];
+        for (int i = 0; i < handSize; i++) {
+            hand[i] = Card.valueOf(i == handSize - 1 ? 2 : 1);
+        }
+        Player player = new Player(1, null, null, hand, new GameState(), LogSink.DISABLED);
+        return () -> player.isWinningHand() ? 1 : 0;
+    }
+
+    /**
+     * A whole threaded game with logging off, won by player 1 after one lap
+     */
+    private static Workload game(String param) {
+        Pack pack = Packs.playerOneWinsAfterLap(Integer.parseInt(param));
+        GameConfig config = new GameConfig().setOutputDir(null);
+        return () -> {
+            CardGame game = CardGame.start(pack, config);
+            return game.getResult().turns;
+        };
+    }
+}
@@ -0,0 +1,37 @@
+package benchmarks;
+
+import java.lang.management.ManagementFactory;
+
+import src.DeckType;
+import src.SimulationEngine;
+import src.exceptions.InvalidPack;
+
+/**
+ * Measures bytes allocated per turn by the player turn loop once warmed up, using the JVM's per-thread
+ * allocation counter. Runs {@link Games#unlikelyToEnd} on {@link SimulationEngine} with logging off.
+ * Prints one CSV line per deck type.
+ */
+public class TurnAllocation {
+    private static final int PLAYERS = 16;
+    private static final int STEPS = 5_000_000;
+
+    public static void main(String[] args) throws InvalidPack {
+        com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        System.out.println("deck_type,turns,bytes,bytes_per_turn");
+        for (DeckType type : DeckType.values()) {
+            SimulationEngine engine = Games.unlikelyToEnd(PLAYERS, 4, type);
+            for (int i = 0; i < STEPS && !engine.step(); i++) {}  // warm up
+
+            long turnsBefore = engine.getTurns();
+            long bytesBefore = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < STEPS && !engine.step(); i++) {}
+            long bytes = threads.getThreadAllocatedBytes(thread) - bytesBefore;
+            long turns = engine.getTurns() - turnsBefore;
+
+            System.out.printf("%s,%d,%d,%.3f%n", type, turns, bytes, (double) bytes / turns);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+
+import src.Card;
+import src.Deck;
+import src.DeckType;
+import src.WaitStrategy;
+
+/**
+ * Measures the time from a card being added to an empty deck until its waiting consumer wakes up,
+ * for each wait strategy. A producer and consumer play ping-pong over two decks, with a pause before
+ * every add so the consumer is already waiting. Prints one CSV line per strategy.
+ */
+public class WaitLatency {
+    private static final int SAMPLES = 20000;
+    private static final long PAUSE_NANOS = 20_000;
+
+    private static volatile long sentAt;
+
+    public static void main(String[] args) throws InterruptedException {
+        WaitStrategy[] strategies = {
+            WaitStrategy.BUSY_SPIN, WaitStrategy.SPIN_YIELD, WaitStrategy.PARK, WaitStrategy.BLOCKING
+        };
+        System.out.println("strategy,samples,p50_ns,p90_ns,p99_ns,max_ns");
+        for (WaitStrategy strategy : strategies) {
+            run(strategy, SAMPLES / 10);  // warm up
+            long[] latencies = run(strategy, SAMPLES);
+            Arrays.sort(latencies);
+            System.out.printf("%s,%d,%d,%d,%d,%d%n",
+                strategy, latencies.length,
+                percentile(latencies, 0.5), percentile(latencies, 0.9), percentile(latencies, 0.99),
+                latencies[latencies.length - 1]
+            );
+        }
+    }
+
+    private static long percentile(long[] sorted, double fraction) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(fraction * (sorted.length - 1)))];
+    }
+
+    private static long[] run(WaitStrategy strategy, int samples) throws InterruptedException {
+        Deck ping = DeckType.RING.create(1, null, 1, strategy);
+        Deck pong = DeckType.RING.create(2, null, 1, strategy);
+        long[] latencies = new long[samples];
+
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < samples; i++) {
+                while (ping.waitForCard(1000)) {}
+                latencies[i] = System.nanoTime() - sentAt;
+                pong.addCard(ping.drawCard());
+            }
+        });
+        consumer.start();
+
+        Card card = new Card(1);
+        for (int i = 0; i < samples; i++) {
+            LockSupport.parkNanos(PAUSE_NANOS);
+            sentAt = System.nanoTime();
+            ping.addCard(card);
+            while (pong.waitForCard(1000)) {}
+            card = pong.drawCard();
+        }
+        consumer.join();
+        return latencies;
+    }
+}
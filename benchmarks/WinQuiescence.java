@@ -0,0 +1,57 @@
+package benchmarks;
+
+import src.CardGame;
+import src.GameConfig;
+import src.GameState;
+import src.WaitStrategy;
+
+/**
+ * Measures time from a win until every player has exited, with players spread between taking turns and
+ * waiting on empty decks. The win is declared from outside on a game nobody can win, after it has run a while.
+ * RELEASE wakes waiting players on the win as games do, POLLING leaves them to notice at their next wait timeout
+ * as before the win latch. Each game runs in its own JVM, see {@link Forked}.
+ * Prints one CSV line per strategy, mode and player amount.
+ */
+public class WinQuiescence {
+    private static final int[] PLAYER_AMOUNTS = {250, 1000, 4000};
+    private static final String[] STRATEGIES = {"PARK", "BLOCKING"};
+    private static final String[] MODES = {"RELEASE", "POLLING"};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 3) {
+            runGame(args[0], args[1], Integer.parseInt(args[2]));
+            return;
+        }
+        System.out.println("strategy,mode,players,millis_to_quiescence");
+        for (int players : PLAYER_AMOUNTS) {
+            for (String strategy : STRATEGIES) {
+                for (String mode : MODES) {
+                    String line = Forked.run(WinQuiescence.class, strategy, mode, String.valueOf(players)).stream()
+                        .filter(output -> output.startsWith(strategy))
+                        .findFirst()
+                        .orElse(strategy+","+mode+","+players+",failed");
+                    System.out.println(line);
+                }
+            }
+        }
+    }
+
+    private static void runGame(String strategy, String mode, int players) throws InterruptedException {
+        WaitStrategy waitStrategy = strategy.equals("PARK") ? WaitStrategy.PARK : WaitStrategy.BLOCKING;
+        CardGame game = CardGame.start(
+            Packs.nobodyWins(players),
+            new GameConfig().setWaitStrategy(waitStrategy).setOutputDir(null)
+        );
+        Thread.sleep(2000);
+
+        GameState state = game.getState();
+        if (mode.equals("POLLING")) {
+            state.onWin(null);
+        }
+        state.declareWin(game.getPlayers()[0]);
+        game.awaitFinish();
+        long nanos = System.nanoTime() - state.wonAt();
+        System.out.printf("%s,%s,%d,%.1f%n", strategy, mode, players, nanos / 1e6);
+        System.exit(0);
+    }
+}
@@ -0,0 +1,273 @@
+package src;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import src.exceptions.InvalidPack;
+
+/**
+ * Plays games from pack files without asking for input, for scripted and nightly runs.
+ * Games are simulated by a {@link GameRunner}, each on one thread, and each reads its pack file straight into the
+ * game, see {@link CardGame#simulate(String, int, int, GameConfig)}. A bad pack file only fails its own game.
+ * A pack nobody can win keeps its thread forever, so the batch never finishes unless {@code --detect-stalls}
+ * is given.
+ * <p>
+ * Usage: {@code java src.BatchRunner [options] <pack files or directories...>}, every file directly in a
+ * directory is a pack, in name order. Prints one line per game as games finish.
+ * <ul>
+ * <li>{@code --players <n>} player amount of every pack, by default each file's line count over 2 * hand size</li>
+ * <li>{@code --hand-size <n>} cards in each hand, default {@value Pack#DEFAULT_HAND_SIZE}</li>
+ * <li>{@code --threads <n>} games played at once, default the amount of processors</li>
+ * <li>{@code --output <dir>} write each game's logs to {@code <dir>/game<index>}, by default nothing is written</li>
+ * <li>{@code --json} print JSON lines instead of CSV</li>
+ * <li>{@code --detect-stalls} end games that can never be won, their winner is 0, without it such a game hangs
+ * the batch, see {@link GameConfig#setStallDetectionEnabled(boolean)}</li>
+ * </ul>
+ */
+public class BatchRunner implements AutoCloseable {
+    private final GameRunner runner;
+
+    /**
+     * Outcome of one pack file's game
+     */
+    public static class Outcome {
+        /** Position of the pack file in the list given to {@link BatchRunner#runAll} */
+        public final int index;
+        public final String packFile;
+        /** The game's result, null if it could not be played */
+        public final GameResult result;
+        /** What the pack told before the game started, per player stats included, null if it could not be played */
+        public final PackAnalysis analysis;
+        /** Why the game could not be played, null if it was */
+        public final String error;
+
+        Outcome(int index, String packFile, GameResult result, PackAnalysis analysis, String error){
+            this.index = index;
+            this.packFile = packFile;
+            this.result = result;
+            this.analysis = analysis;
+            this.error = error;
+        }
+
+        /**
+         * @return this outcome as a CSV line, see {@link BatchRunner#CSV_HEADER}
+         */
+        public String toCsv(){
+            if (this.result == null) {
+                return String.format("%d,%s,,,,,,,,%s", this.index, csv(this.packFile), csv(this.error));
+            }
+            return String.format(
+                "%d,%s,%d,%d,%d,%d,%b,%d,%d,", this.index, csv(this.packFile), this.result.playerAmount,
+                this.result.winner, this.result.turns, this.result.elapsedNanos / 1_000_000,
+                this.analysis.isWinnable(), this.analysis.getInitialWinner(), this.analysis.getReachablePlayers()
+            );
+        }
+
+        /**
+         * @return this outcome as a single line JSON object
+         */
+        public String toJson(){
+            if (this.result == null) {
+                return String.format(
+                    "{\"index\":%d,\"pack\":%s,\"error\":%s}", this.index, json(this.packFile), json(this.error)
+                );
+            }
+            StringBuilder preferred = new StringBuilder();
+            for (int player = 1; player <= this.analysis.playerAmount; player++) {
+                preferred.append(player == 1 ? "" : ",").append(this.analysis.preferredInPack(player));
+            }
+            return String.format(
+                "{\"index\":%d,\"pack\":%s,\"players\":%d,\"winner\":%d,\"turns\":%d,\"millis\":%d,"
+                    + "\"winnable\":%b,\"initialWinner\":%d,\"reachable\":%d,\"preferredInPack\":[%s]}",
+                this.index, json(this.packFile), this.result.playerAmount, this.result.winner,
+                this.result.turns, this.result.elapsedNanos / 1_000_000,
+                this.analysis.isWinnable(), this.analysis.getInitialWinner(), this.analysis.getReachablePlayers(),
+                preferred
+            );
+        }
+    }
+
+    /**
+     * Winnable, initial_winner and reachable come from the game's {@link PackAnalysis}: if some value occurs
+     * often enough for a winning hand, the player dealt a winning hand and the amount of players whose own number
+     * occurs often enough
+     */
+    public static final String CSV_HEADER = "index,pack,players,winner,turns,millis,winnable,initial_winner,reachable,error";
+
+    /**
+     * @param threads amount of games to play at once
+     * @param config options for every game, each game writes its output to a "game" + index subdirectory
+     */
+    public BatchRunner(int threads, GameConfig config){
+        this.runner = new GameRunner(threads, config);
+    }
+
+    /**
+     * Starts a game for every pack file
+     * @param packFiles pack files, the outcome's index is the file's position in the list
+     * @param playerAmount player amount of every pack, 0 to work it out from each file's line count
+     * @param handSize cards in each hand
+     * @return outcomes in the order the games finish, {@code next()} waits for the next game to finish
+     * @throws IllegalArgumentException the player amount is negative or the hand size is not positive
+     */
+    public Iterator<Outcome> runAll(List<String> packFiles, int playerAmount, int handSize){
+        if (playerAmount < 0) {
+            throw new IllegalArgumentException("Player amount must not be negative");
+        }
+        if (handSize < 1) {
+            throw new IllegalArgumentException("Hand size must be larger than 0");
+        }
+        return this.runner.runAll(
+            packFiles.size(),
+            (gameIndex, gameConfig) -> play(gameIndex, packFiles.get(gameIndex), playerAmount, handSize, gameConfig)
+        );
+    }
+
+    private static Outcome play(int gameIndex, String packFile, int playerAmount, int handSize, GameConfig config){
+        try {
+            int players = playerAmount > 0 ? playerAmount : PackParser.inferPlayerAmount(packFile, handSize);
+            CardGame game = CardGame.simulate(packFile, players, handSize, config);
+            game.unregisterMetrics();
+            return new Outcome(gameIndex, packFile, game.getResult().withIndex(gameIndex), game.getAnalysis(), null);
+        } catch (FileNotFoundException e) {
+            return new Outcome(gameIndex, packFile, null, null, "File not found: "+e.getMessage());
+        } catch (IOException | InvalidPack e) {
+            return new Outcome(gameIndex, packFile, null, null, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Outcome(gameIndex, packFile, null, null, "Interrupted");
+        } catch (RuntimeException e) {
+            // Anything else only fails this game too
+            return new Outcome(gameIndex, packFile, null, null, e.toString());
+        }
+    }
+
+    /**
+     * @param paths pack files and directories of pack files
+     * @return every pack file, a directory's files in name order
+     * @throws IOException error when listing a directory
+     */
+    public static List<String> packFiles(List<String> paths) throws IOException{
+        List<String> files = new ArrayList<>();
+        for (String path : paths) {
+            Path file = Paths.get(path);
+            if (!Files.isDirectory(file)) {
+                files.add(path);
+                continue;
+            }
+            try (Stream<Path> entries = Files.list(file)) {
+                files.addAll(entries
+                    .filter(Files::isRegularFile)
+                    .filter(entry -> !entry.getFileName().toString().startsWith("."))
+                    .sorted()
+                    .map(Path::toString)
+                    .collect(Collectors.toList()));
+            }
+        }
+        return files;
+    }
+
+    private static String csv(String value){
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String json(String value){
+        StringBuilder builder = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    @Override
+    public void close(){
+        this.runner.close();
+    }
+
+    public static void main(String[] args) {
+        int playerAmount = 0;
+        int handSize = Pack.DEFAULT_HAND_SIZE;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String outputDir = null;
+        boolean json = false;
+        boolean detectStalls = false;
+        List<String> paths = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i++) {
+                switch (args[i]) {
+                    case "--players":
+                        playerAmount = Integer.parseInt(args[++i]);
+                        break;
+                    case "--hand-size":
+                        handSize = Integer.parseInt(args[++i]);
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+                    case "--output":
+                        outputDir = args[++i];
+                        break;
+                    case "--json":
+                        json = true;
+                        break;
+                    case "--detect-stalls":
+                        detectStalls = true;
+                        break;
+                    default:
+                        paths.add(args[i]);
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            paths.clear();
+        }
+        if (paths.isEmpty() || playerAmount < 0 || handSize < 1 || threads < 1) {
+            System.out.println("Usage: BatchRunner [--players <n>] [--hand-size <n>] [--threads <n>] [--output <dir>] [--json]");
+            System.out.println("                   [--detect-stalls]");
+            System.out.println("                   <pack files or directories...>");
+            System.out.println("Without --detect-stalls a pack nobody can win never finishes, and neither does the batch");
+            return;
+        }
+
+        List<String> files;
+        try {
+            files = packFiles(paths);
+        } catch (IOException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        // games announce their winner on standard output, results go there alone
+        PrintStream out = System.out;
+        System.setOut(new PrintStream(PrintStream.nullOutputStream()));
+        GameConfig config = new GameConfig().setOutputDir(outputDir).setStallDetectionEnabled(detectStalls);
+        try (BatchRunner runner = new BatchRunner(threads, config)) {
+            if (!json) {
+                out.println(CSV_HEADER);
+            }
+            Iterator<Outcome> outcomes = runner.runAll(files, playerAmount, handSize);
+            while (outcomes.hasNext()) {
+                Outcome outcome = outcomes.next();
+                out.println(json ? outcome.toJson() : outcome.toCsv());
+            }
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
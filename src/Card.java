@@ -1,6 +1,17 @@
 package src;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
 public class Card {
+    /** Values below this are cached by {@link #valueOf(int)} */
+    private static final int CACHE_LIMIT = 1 << 24;
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final VarHandle PAGES = MethodHandles.arrayElementVarHandle(Card[][].class);
+    private static final VarHandle CARDS = MethodHandles.arrayElementVarHandle(Card[].class);
+    // Pages are only allocated once a value in them is used
+    private static final Card[][] CACHE = new Card[CACHE_LIMIT >>> PAGE_BITS][];
 
     public final int value;
 
@@ -12,4 +23,35 @@ public class Card {
     public Card(int value) {
         this.value = value;
     }
-}
\ No newline at end of file
+
+    /**
+     * Shared card of a value, so packs and decks holding the same value many times hold one object.
+     * Values from 0 up to 2^24 always give the same instance, others give a new card.
+     * @param value the card's value
+     * @return a card with the value
+     */
+    public static Card valueOf(int value) {
+        if (value < 0 || value >= CACHE_LIMIT) {
+            return new Card(value);
+        }
+        int pageIndex = value >>> PAGE_BITS;
+        Card[] page = (Card[]) PAGES.getAcquire(CACHE, pageIndex);
+        if (page == null) {
+            Card[] newPage = new Card[PAGE_SIZE];
+            page = (Card[]) PAGES.compareAndExchangeRelease(CACHE, pageIndex, null, newPage);
+            if (page == null) {
+                page = newPage;
+            }
+        }
+        int index = value & (PAGE_SIZE - 1);
+        Card card = (Card) CARDS.getAcquire(page, index);
+        if (card == null) {
+            Card newCard = new Card(value);
+            card = (Card) CARDS.compareAndExchangeRelease(page, index, null, newCard);
+            if (card == null) {
+                card = newCard;
+            }
+        }
+        return card;
+    }
+}
@@ -3,19 +3,30 @@ package src;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Scanner;
-import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import src.exceptions.InvalidPack;
 import src.exceptions.InvalidPlayerAmount;
+import src.logging.LogSink;
+import src.metrics.GameMetrics;
 
 public class CardGame{
-    private static CardGame INSTANCE;
-    private final GameState state = GameState.getInstance();
+    private final GameState state = new GameState();
 
     public final int playerAmount;
     private final Player[] players;
 
     private final Deck[] decks;
+    private final LogSink sink;
+    private final GameMetrics metrics;  // null when disabled
+    private final PackAnalysis analysis;
+    private final SnapshotCoordinator snapshots;  // null when disabled
+    private final AtomicInteger running;
+    private final CountDownLatch finished;
+    private long startedAt;
+    private volatile long finishedAt;
 
     public static void main(String[] args) {
         CardGame.start();
@@ -23,49 +34,355 @@ public class CardGame{
 
     /**
      * Only to be created with start
-     * @param playerAmount Amount of players
-     * @param pack Starting pack of cards
+     * @param decks Starting decks, deck i+1 is between players i and i+1
+     * @param hands Starting hand of each player
+     * @param analysis Analysis of the pack the game was dealt from
+     * @param config Options for this game
      */
-    private CardGame(int playerAmount, Pack pack){
+    private CardGame(Deck[] decks, Card[][] hands, PackAnalysis analysis, GameConfig config){
+        int playerAmount = decks.length;
         this.playerAmount = playerAmount;
+        this.analysis = analysis;
         this.players = new Player[playerAmount];
-        this.decks = new Deck[playerAmount];
+        this.decks = decks;
+        this.running = new AtomicInteger(playerAmount);
+        this.finished = new CountDownLatch(playerAmount);
+        this.sink = config.getOutputDir() == null
+            ? LogSink.DISABLED
+            : config.getLogMode().createSink(config.getOutputDir(), config.getLogWriters());
 
-        Card[][][] sortedPack = CardGame.dealCards(pack);
-        Card[][] playerHands = sortedPack[0];
-        Card[][] decks = sortedPack[1];
-
-        for (int i = 0 ; i < playerAmount ; i++) {
-            this.decks[i] = new Deck(i+1, decks[i]);
+        for (Deck deck : this.decks) {
+            this.sink.dealt(deck);
         }
+        // Players waiting for cards stop as soon as someone wins instead of at their next timeout
+        this.state.onWin(() -> {
+            for (Deck deck : this.decks) {
+                deck.release();
+            }
+        });
 
         for (int i = 0 ; i < playerAmount ; i++) {
             if (i+1 == this.decks.length) {
-                this.players[i] = new Player(i+1, this.decks[i], this.decks[0], playerHands[i], state);
+                this.players[i] = new Player(
+                    i+1, this.decks[i], this.decks[0], hands[i], state, this.sink
+                );
             } else {
                 Deck rightDeck = this.decks[i+1];
-                this.players[i] = new Player(i+1, this.decks[i], rightDeck, playerHands[i], state);
+                this.players[i] = new Player(
+                    i+1, this.decks[i], rightDeck, hands[i], state, this.sink
+                );
+            }
+        }
+
+        if (config.isSnapshotsEnabled()) {
+            this.snapshots = new SnapshotCoordinator(this.players, this.decks, this.state, this.finished);
+            for (Player player : this.players) {
+                player.setSnapshots(this.snapshots);
+            }
+        } else {
+            this.snapshots = null;
+        }
+
+        if (config.isMetricsEnabled()) {
+            this.metrics = new GameMetrics(this.decks, this.state);
+            for (int i = 0 ; i < playerAmount ; i++) {
+                this.players[i].setMetrics(this.metrics.forPlayer(i));
             }
+            this.metrics.register();
+        } else {
+            this.metrics = null;
+        }
+    }
+
+    /**
+     * Deals a pack into a new game
+     * @param pack Starting pack of cards
+     * @param config Options for the game
+     * @return the game, not yet started
+     */
+    private static CardGame deal(Pack pack, GameConfig config){
+        Deck[] decks = new Deck[pack.playerAmount];
+        Card[][] hands = new Card[pack.playerAmount][];
+        // A deck can never hold more than every card not in a hand
+        int deckCapacity = pack.handSize*pack.playerAmount;
+        for (int i = 0 ; i < pack.playerAmount ; i++) {
+            decks[i] = config.getDeckType().deal(i+1, pack.deck(i), deckCapacity, config.getWaitStrategy());
+            hands[i] = pack.hand(i).toCards();
         }
+        return new CardGame(decks, hands, PackAnalysis.of(pack), config);
     }
 
-    public synchronized static CardGame start(){
-        if (INSTANCE != null) {
-            return INSTANCE;
+    /**
+     * Deals a pack file into a new game as it is read, each value going straight to its card in a hand or deck,
+     * so the pack's values are never held in memory. Each deck gets its cards in one {@link Deck#addAll} batch.
+     * @param packFile The pack file to read
+     * @param playerAmount player amount
+     * @param handSize cards in each hand, the file must hold 2 * handSize * playerAmount lines
+     * @param config Options for the game
+     * @return the game, not yet started
+     */
+    private static CardGame deal(String packFile, int playerAmount, int handSize, GameConfig config)
+            throws IOException, FileNotFoundException, InvalidPack{
+        Deck[] decks = new Deck[playerAmount];
+        Card[][] hands = new Card[playerAmount][handSize];
+        Card[][] deckCards = new Card[playerAmount][handSize];
+        int deckCapacity = handSize*playerAmount;
+        for (int i = 0 ; i < playerAmount ; i++) {
+            decks[i] = config.getDeckType().create(i+1, null, deckCapacity, config.getWaitStrategy());
+        }
+        PackAnalysis.Builder analysis = new PackAnalysis.Builder(playerAmount, handSize);
+        // Dealt one card to each player in turn, hands first, so each deck gets its cards top first
+        PackParser.stream(packFile, playerAmount, handSize, (index, value) -> {
+            analysis.accept(index, value);
+            int round = index / playerAmount;
+            int player = index % playerAmount;
+            if (round < handSize) {
+                hands[player][round] = Card.valueOf(value);
+            } else {
+                deckCards[player][round - handSize] = Card.valueOf(value);
+            }
+        });
+        for (int i = 0 ; i < playerAmount ; i++) {
+            decks[i].addAll(deckCards[i]);
         }
+        return new CardGame(decks, hands, analysis.build(), config);
+    }
+
+    /**
+     * Asks the user for player amount and pack, then starts the game with default options
+     * @return the running game
+     */
+    public static CardGame start(){
+        return CardGame.start(new GameConfig());
+    }
+
+    /**
+     * Asks the user for player amount and pack, then starts the game
+     * @param config Options for the game
+     * @return the running game
+     */
+    public static CardGame start(GameConfig config){
         Scanner scanner = new Scanner(System.in);
         int playerAmount = CardGame.getPlayerAmount(scanner);
         Pack pack = CardGame.getPackPath(playerAmount, scanner);
         scanner.close();
-                
-        CardGame gameInstance = new CardGame(playerAmount, pack);
 
+        return CardGame.start(pack, config);
+    }
+
+    /**
+     * Starts a game from an already loaded pack.
+     * A game whose outcome is known from its pack ends at once without starting any player, see {@link PackAnalysis}.
+     * @param pack Starting pack of cards
+     * @param config Options for the game
+     * @return the running game
+     */
+    public static CardGame start(Pack pack, GameConfig config){
+        return CardGame.run(CardGame.deal(pack, config), config);
+    }
+
+    /**
+     * Starts a game straight from a pack file, read once and dealt as it is read, see {@link Pack#readPack}
+     * for the file's format
+     * @param packFile The pack file to read
+     * @param playerAmount player amount
+     * @param handSize cards in each hand, the file must hold 2 * handSize * playerAmount lines
+     * @param config Options for the game
+     * @return the running game
+     * @throws IOException Error when reading file
+     * @throws FileNotFoundException File not found
+     * @throws InvalidPack Given pack file is invalid, reported at its first bad line
+     */
+    public static CardGame start(String packFile, int playerAmount, int handSize, GameConfig config)
+            throws IOException, FileNotFoundException, InvalidPack{
+        return CardGame.run(CardGame.deal(packFile, playerAmount, handSize, config), config);
+    }
+
+    private static CardGame run(CardGame gameInstance, GameConfig config){
+        gameInstance.startedAt = System.nanoTime();
+        if (gameInstance.endsBeforeFirstTurn(config)) {
+            return gameInstance;
+        }
+
+        Executor executor = config.getExecutor();
         for (Player player : gameInstance.players) {
-            new Thread(player).start();
+            Runnable task = () -> {
+                try {
+                    player.run();
+                } finally {
+                    // The last player out waits for the logs so awaitFinish means everything is written
+                    if (gameInstance.running.decrementAndGet() == 0) {
+                        gameInstance.sink.close();
+                        gameInstance.finishedAt = System.nanoTime();
+                    }
+                    gameInstance.finished.countDown();
+                }
+            };
+            if (executor == null) {
+                new Thread(task).start();
+            } else {
+                executor.execute(task);
+            }
+        }
+        if (config.isStallDetectionEnabled()) {
+            Thread watchdog = new Thread(new StallWatchdog(gameInstance.players, gameInstance.state));
+            watchdog.setDaemon(true);
+            watchdog.start();
+        }
+
+        return gameInstance;
+    }
+
+    /**
+     * Ends a game whose outcome is known from its pack on the calling thread, without starting any player.
+     * A player dealt a winning hand wins as it would if it checked its hand before anyone took a turn,
+     * a game nobody can win is ended without a winner when stall detection is on.
+     * @return if the game was ended
+     */
+    private boolean endsBeforeFirstTurn(GameConfig config){
+        int winner = this.analysis.getInitialWinner();
+        if (winner == 0 && (this.analysis.isWinnable() || !config.isStallDetectionEnabled())) {
+            return false;
+        }
+
+        for (Player player : this.players) {
+            player.begin();
+        }
+        if (winner != 0) {
+            this.players[winner - 1].checkWin();
+        } else {
+            this.state.endWithoutWinner();
+        }
+        for (Player player : this.players) {
+            player.finish();
+        }
+        this.sink.close();
+        this.finishedAt = System.nanoTime();
+        for (int i = 0; i < this.playerAmount; i++) {
+            this.finished.countDown();
+        }
+        return true;
+    }
+
+    /**
+     * Plays a game from an already loaded pack on the calling thread, see {@link SimulationEngine}
+     * @param pack Starting pack of cards
+     * @param config Options for the game, the turn order and seed are used to schedule players
+     * @return the finished game
+     */
+    public static CardGame simulate(Pack pack, GameConfig config){
+        return CardGame.simulate(CardGame.deal(pack, config), config);
+    }
+
+    /**
+     * Plays a game straight from a pack file on the calling thread, see {@link CardGame#start(String, int, int, GameConfig)}
+     * @param packFile The pack file to read
+     * @param playerAmount player amount
+     * @param handSize cards in each hand, the file must hold 2 * handSize * playerAmount lines
+     * @param config Options for the game, the turn order and seed are used to schedule players
+     * @return the finished game
+     * @throws IOException Error when reading file
+     * @throws FileNotFoundException File not found
+     * @throws InvalidPack Given pack file is invalid, reported at its first bad line
+     */
+    public static CardGame simulate(String packFile, int playerAmount, int handSize, GameConfig config)
+            throws IOException, FileNotFoundException, InvalidPack{
+        return CardGame.simulate(CardGame.deal(packFile, playerAmount, handSize, config), config);
+    }
+
+    private static CardGame simulate(CardGame gameInstance, GameConfig config){
+        gameInstance.startedAt = System.nanoTime();
+
+        new SimulationEngine(
+            gameInstance.players, gameInstance.state, config.getTurnOrder(), config.getSeed(),
+            config.isStallDetectionEnabled()
+        ).run();
+        gameInstance.sink.close();
+        gameInstance.finishedAt = System.nanoTime();
+        for (int i = 0; i < gameInstance.playerAmount; i++) {
+            gameInstance.finished.countDown();
         }
 
         return gameInstance;
     }
+
+    public Player[] getPlayers(){
+        return this.players;
+    }
+
+    public Deck[] getDecks(){
+        return this.decks;
+    }
+
+    public GameState getState(){
+        return this.state;
+    }
+
+    /**
+     * @return what the game's pack told before any turn was taken
+     */
+    public PackAnalysis getAnalysis(){
+        return this.analysis;
+    }
+
+    /**
+     * @return the game's live metrics, null unless enabled in its config
+     */
+    public GameMetrics getMetrics(){
+        return this.metrics;
+    }
+
+    /**
+     * Removes the game's metrics from JMX, they stay registered after the game ends until this is called
+     */
+    public void unregisterMetrics(){
+        if (this.metrics != null) {
+            this.metrics.unregister();
+        }
+    }
+
+    /**
+     * Takes a consistent snapshot of every hand and deck while the game keeps running, see {@link SnapshotCoordinator}.
+     * Each player records its part at its next turn, so this waits for the slowest player's next turn.
+     * Snapshots are taken one at a time, a snapshot of a game that is over shows how it was left.
+     * @return the snapshot
+     * @throws InterruptedException interrupted while waiting
+     * @throws IllegalStateException snapshots are not enabled in the game's config
+     */
+    public GameSnapshot snapshot() throws InterruptedException{
+        if (this.snapshots == null) {
+            throw new IllegalStateException("Snapshots are not enabled for this game");
+        }
+        return this.snapshots.take();
+    }
+
+    /**
+     * Waits until every player has exited and written its output
+     * @throws InterruptedException interrupted while waiting
+     */
+    public void awaitFinish() throws InterruptedException{
+        this.finished.await();
+    }
+
+    /**
+     * Waits until the game has finished and summarises it
+     * @return the game's result
+     * @throws InterruptedException interrupted while waiting
+     */
+    public GameResult getResult() throws InterruptedException{
+        awaitFinish();
+        long turns = 0;
+        for (Player player : this.players) {
+            turns += player.getTurns();
+        }
+        Player winner = this.state.wonBy();
+        return new GameResult(
+            this.playerAmount,
+            winner == null ? 0 : winner.getPlayerNumber(),
+            turns,
+            this.finishedAt - this.startedAt
+        );
+    }
     
     /**
      * Asks user to input player amount
@@ -148,18 +465,11 @@ public class CardGame{
      */
     public static Card[][][] dealCards(Pack pack){
 
-        Iterator<Card> pack_ = pack.iterator();
+        Card[][][] result = new Card[2][pack.playerAmount][];
 
-        Card[][][] result = new Card[2][pack.playerAmount][4];
-
-        for (int i = 0; i < 2; i++) {
-            // when i = 0 -> insert into player hands
-            // when i = 1 -> insert into decks
-            for (int cardPos = 0; cardPos < 4; cardPos++) {
-                for (int playerNum = 0; playerNum < pack.playerAmount; playerNum++) {
-                    result[i][playerNum][cardPos] = pack_.next();
-                }
-            }
+        for (int playerNum = 0; playerNum < pack.playerAmount; playerNum++) {
+            result[0][playerNum] = pack.hand(playerNum).toCards();
+            result[1][playerNum] = pack.deck(playerNum).toCards();
         }
 
         return result;
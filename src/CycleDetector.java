@@ -0,0 +1,105 @@
+package src;
+
+import java.util.Arrays;
+
+/**
+ * Finds games that repeat themselves and so can never be won.
+ * Cards never leave a game and a player always discards the oldest card it does not prefer,
+ * so every hand, discard order and deck together decide all later turns of a round robin game.
+ * The state is encoded as ints at the start of every round and compared with one saved encoding that moves
+ * ahead at doubling distances (Brent's cycle detection), so only two encodings are ever held.
+ * Hands are encoded first and compared on their own, discard orders and decks are only encoded when the hands
+ * match or the encoding is saved.
+ */
+final class CycleDetector {
+    private final Player[] players;
+    private int[] current = new int[64];
+    private int currentLength = 0;
+    private int handsLength = 0;
+    private int[] saved = null;
+    private int savedLength = 0;
+    // Distance to the saved encoding and how far it may get before the saved encoding moves ahead
+    private long distance = 0;
+    private long limit = 1;
+
+    /**
+     * @param players players of the game, their left decks are every deck
+     */
+    CycleDetector(Player[] players){
+        this.players = players;
+    }
+
+    /**
+     * Records the game's state, called at the same point of every round while no cards move
+     * @return if the state is the same as at an earlier call, the game will loop forever
+     */
+    boolean repeated(){
+        encodeHands();
+        boolean encoded = false;
+        if (this.saved != null
+                && Arrays.equals(this.current, 0, this.handsLength, this.saved, 0, this.handsLength)) {
+            encodeRest();
+            encoded = true;
+            if (Arrays.equals(this.current, 0, this.currentLength, this.saved, 0, this.savedLength)) {
+                return true;
+            }
+        }
+        if (this.saved == null || this.distance == this.limit) {
+            if (!encoded) {
+                encodeRest();
+            }
+            int[] previous = this.saved;
+            this.saved = this.current;
+            this.savedLength = this.currentLength;
+            this.current = previous == null ? new int[this.saved.length] : previous;
+            this.limit *= 2;
+            this.distance = 0;
+        }
+        this.distance++;
+        return false;
+    }
+
+    /**
+     * Hashes the game's state, equal states give equal fingerprints.
+     * Safe to call while players run, though cards that move during the call give a state that never was.
+     * @return 64 bit fingerprint of the state
+     */
+    long fingerprint(){
+        encodeHands();
+        encodeRest();
+        long hash = 0;
+        for (int i = 0; i < this.currentLength; i++) {
+            hash = (hash + this.current[i]) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    /**
+     * Appends a value to the encoding being built, only for {@link Player#encodeState(CycleDetector)}
+     * @param value the value to append
+     */
+    void add(int value){
+        if (this.currentLength == this.current.length) {
+            this.current = Arrays.copyOf(this.current, this.current.length * 2);
+        }
+        this.current[this.currentLength++] = value;
+    }
+
+    private void encodeHands(){
+        this.currentLength = 0;
+        for (Player player : this.players) {
+            for (Card card : player.getHand()) {
+                add(card.value);
+            }
+        }
+        this.handsLength = this.currentLength;
+    }
+
+    private void encodeRest(){
+        this.currentLength = this.handsLength;
+        for (Player player : this.players) {
+            player.encodeState(this);
+        }
+    }
+}
@@ -1,18 +1,35 @@
 package src;
 
 import java.io.IOException;
+import java.util.AbstractCollection;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import src.utils.FileIO;
 
 public class Deck {
     private final LinkedBlockingQueue<Card> cards;
     private final int deckNumber;
+    private final WaitStrategy waitStrategy;
+    private volatile Thread waiter;
+    private volatile boolean released = false;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
 
     public Deck(int deckNumber, Card[] cards){
+        this(deckNumber, cards, WaitStrategy.BLOCKING);
+    }
+
+    public Deck(int deckNumber, Card[] cards, WaitStrategy waitStrategy){
         this.deckNumber = deckNumber;
+        this.waitStrategy = waitStrategy;
         if (cards == null) {
             this.cards = new LinkedBlockingQueue<>();
         } else {
@@ -20,15 +37,91 @@ public class Deck {
         }
     };
 
+    /**
+     * For subclasses that provide their own card storage
+     * @param deckNumber the deck's number
+     * @param waitStrategy how the consumer waits for cards
+     */
+    protected Deck(int deckNumber, WaitStrategy waitStrategy){
+        this.deckNumber = deckNumber;
+        this.waitStrategy = waitStrategy;
+        this.cards = null;
+    }
+
     @Override
     public String toString(){
         return this.cards.toString();
     }
 
+    /**
+     * @return the deck's cards from top to bottom, a copy that is only consistent while no cards move
+     */
+    public Card[] toArray(){
+        return this.cards.toArray(new Card[0]);
+    }
+
     public int getDeckNumber() {
         return this.deckNumber;
     }
 
+    public WaitStrategy getWaitStrategy() {
+        return this.waitStrategy;
+    }
+
+    /**
+     * @return the thread waiting for a card, null if none is waiting
+     */
+    public Thread getWaiter() {
+        return this.waiter;
+    }
+
+    /**
+     * Registers the thread waiting for a card, only for use by {@link WaitStrategy} implementations
+     * @param waiter the waiting thread, null when it stops waiting
+     */
+    public void setWaiter(Thread waiter) {
+        this.waiter = waiter;
+    }
+
+    /**
+     * @return if waiting on this deck has ended for good, see {@link #release()}
+     */
+    public boolean isReleased() {
+        return this.released;
+    }
+
+    /**
+     * Wakes the deck's consumer and keeps it from waiting again, called once the game is over.
+     * Cards can still be added and drawn.
+     */
+    public void release() {
+        this.released = true;
+        this.waitStrategy.signal(this);
+    }
+
+    /**
+     * @return if the consumer should keep waiting, the deck is empty and not released
+     */
+    public boolean mustWait() {
+        return isEmpty() && !this.released;
+    }
+
+    /**
+     * Lock for {@link WaitStrategy} implementations that block,
+     * used instead of the deck's monitor so waiting virtual threads do not pin their carrier
+     * @return the deck's lock
+     */
+    public ReentrantLock getLock() {
+        return this.lock;
+    }
+
+    /**
+     * @return condition of {@link Deck#getLock()} signalled when a card is added to a waited on deck
+     */
+    public Condition getNotEmpty() {
+        return this.notEmpty;
+    }
+
     public void writeToFile(String dir) throws IOException{
         FileIO.writeToFile(
             dir,
@@ -36,13 +129,85 @@ public class Deck {
             );
     }
 
+    /**
+     * @return if the deck currently holds no cards
+     */
+    public boolean isEmpty(){
+        return this.cards.isEmpty();
+    }
+
+    /**
+     * @return amount of cards in the deck, only approximate while cards move
+     */
+    public int size(){
+        return this.cards.size();
+    }
+
     /**
      * Adds a card to the bottom of the deck
      * @param card the card to add
      */
-    public synchronized void addCard(Card card){
+    public void addCard(Card card){
         this.cards.add(card);
-        notify();
+        this.waitStrategy.signal(this);
+    }
+
+    /**
+     * Adds cards to the bottom of the deck in order, waking the consumer once for the whole batch.
+     * Nothing is added if any card is null.
+     * <p>
+     * Only {@link RingDeck} publishes the whole batch at once, with one store, so its consumer sees all of it or none.
+     * This deck adds the cards to its queue one at a time, taking the queue's lock for each, since
+     * {@code LinkedBlockingQueue} has no bulk insert; a consumer drawing meanwhile may find only the start of the
+     * batch, and the batch saves only the extra wake-ups.
+     * @param cards the cards to add
+     */
+    public void addAll(Card[] cards){
+        for (Card card : cards) {
+            Objects.requireNonNull(card);
+        }
+        if (cards.length == 0) {
+            return;
+        }
+        Collections.addAll(this.cards, cards);
+        this.waitStrategy.signal(this);
+    }
+
+    /**
+     * Removes cards from the top of the deck in order, as many as fit in the array or the deck holds
+     * @param cards array to fill from its start
+     * @return amount of cards removed
+     */
+    public int drainTo(Card[] cards){
+        return this.cards.drainTo(new ArrayFiller(cards), cards.length);
+    }
+
+    /**
+     * Collection that only appends to an array, so the queue can drain into it under a single lock
+     */
+    private static class ArrayFiller extends AbstractCollection<Card> {
+        private final Card[] cards;
+        private int size = 0;
+
+        ArrayFiller(Card[] cards){
+            this.cards = cards;
+        }
+
+        @Override
+        public boolean add(Card card){
+            this.cards[this.size++] = card;
+            return true;
+        }
+
+        @Override
+        public int size(){
+            return this.size;
+        }
+
+        @Override
+        public Iterator<Card> iterator(){
+            return Arrays.asList(this.cards).subList(0, this.size).iterator();
+        }
     }
 
     /**
@@ -53,17 +218,31 @@ public class Deck {
         return this.cards.remove();
     }
 
+    /**
+     * Removes a card from the top of the deck without throwing when it is empty
+     * @return the removed card, null if the deck is empty
+     */
+    public Card pollCard(){
+        return this.cards.poll();
+    }
+
     /**
      * Waits for deck to be populated
      * @param timeoutMillis maximum time to wait for
      * @return deck is empty or not
      */
-    public synchronized boolean waitForCard(int timeoutMillis){
-        if (this.cards.isEmpty()) {
-            try {
-                wait(timeoutMillis);
-            } catch (InterruptedException ignored) {}
+    public boolean waitForCard(int timeoutMillis){
+        if (mustWait()) {
+            GameEvents.DeckWait event = new GameEvents.DeckWait();
+            event.begin();
+            this.waitStrategy.await(this, TimeUnit.MILLISECONDS.toNanos(timeoutMillis));
+            if (event.shouldCommit()) {
+                event.deck = this.deckNumber;
+                event.timeout = timeoutMillis;
+                event.cardArrived = !isEmpty();
+                event.commit();
+            }
         }
-        return this.cards.isEmpty();
+        return isEmpty();
     }
 }
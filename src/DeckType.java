@@ -0,0 +1,45 @@
+package src;
+
+/**
+ * Storage used for the decks between players, chosen when a game is created
+ */
+public enum DeckType {
+    /** {@link Deck} backed by a {@code LinkedBlockingQueue} */
+    QUEUE,
+    /** {@link RingDeck}, a lock-free single-producer/single-consumer ring */
+    RING;
+
+    /**
+     * Creates a deck of this type
+     * @param deckNumber the deck's number
+     * @param cards starting cards
+     * @param capacity most cards the deck will ever hold, ignored by unbounded types
+     * @param waitStrategy how the deck's consumer waits for cards
+     * @return the deck
+     */
+    public Deck create(int deckNumber, Card[] cards, int capacity, WaitStrategy waitStrategy){
+        switch (this) {
+            case RING:
+                return new RingDeck(deckNumber, cards, capacity, waitStrategy);
+            case QUEUE:
+            default:
+                return new Deck(deckNumber, cards, waitStrategy);
+        }
+    }
+
+    /**
+     * Creates a deck of this type holding cards dealt from a pack, without copying them to an array first
+     * @param deckNumber the deck's number
+     * @param cards starting cards
+     * @param capacity most cards the deck will ever hold, ignored by unbounded types
+     * @param waitStrategy how the deck's consumer waits for cards
+     * @return the deck
+     */
+    public Deck deal(int deckNumber, PackView cards, int capacity, WaitStrategy waitStrategy){
+        Deck deck = create(deckNumber, null, capacity, waitStrategy);
+        for (int i = 0; i < cards.size(); i++) {
+            deck.addCard(cards.cardAt(i));
+        }
+        return deck;
+    }
+}
@@ -0,0 +1,213 @@
+package src;
+
+import java.util.concurrent.Executor;
+
+import src.logging.LogMode;
+import src.utils.VirtualThreads;
+
+/**
+ * Options chosen when a game is created.
+ * Setters return this config so they can be chained.
+ */
+public class GameConfig {
+    private DeckType deckType = DeckType.QUEUE;
+    private WaitStrategy waitStrategy = WaitStrategy.BLOCKING;
+    private Executor executor = null;
+    private TurnOrder turnOrder = TurnOrder.ROUND_ROBIN;
+    private long seed = 0;
+    private String outputDir = "./logs";
+    private LogMode logMode = LogMode.FILE_HANDLER;
+    private int logWriters = 1;
+    private boolean metrics = false;
+    private boolean stallDetection = false;
+    private boolean snapshots = false;
+
+    public GameConfig(){
+    }
+
+    /**
+     * Copies another config's options
+     * @param other the config to copy
+     */
+    public GameConfig(GameConfig other){
+        this.deckType = other.deckType;
+        this.waitStrategy = other.waitStrategy;
+        this.executor = other.executor;
+        this.turnOrder = other.turnOrder;
+        this.seed = other.seed;
+        this.outputDir = other.outputDir;
+        this.logMode = other.logMode;
+        this.logWriters = other.logWriters;
+        this.metrics = other.metrics;
+        this.stallDetection = other.stallDetection;
+        this.snapshots = other.snapshots;
+    }
+
+    public DeckType getDeckType(){
+        return this.deckType;
+    }
+
+    /**
+     * @param deckType storage used for the decks between players
+     * @return this config
+     */
+    public GameConfig setDeckType(DeckType deckType){
+        this.deckType = deckType;
+        return this;
+    }
+
+    public WaitStrategy getWaitStrategy(){
+        return this.waitStrategy;
+    }
+
+    /**
+     * @param waitStrategy how players wait on an empty deck, trading CPU for wake-up latency
+     * @return this config
+     */
+    public GameConfig setWaitStrategy(WaitStrategy waitStrategy){
+        this.waitStrategy = waitStrategy;
+        return this;
+    }
+
+    /**
+     * @return executor players run on, null when each player gets its own platform thread
+     */
+    public Executor getExecutor(){
+        return this.executor;
+    }
+
+    /**
+     * Players block while waiting for cards, so the executor must be able to run every player at once,
+     * e.g. virtual threads or an unbounded pool
+     * @param executor executor to run players on, null for a platform thread per player
+     * @return this config
+     */
+    public GameConfig setExecutor(Executor executor){
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Runs players on virtual threads
+     * @return this config
+     * @throws UnsupportedOperationException JVM does not support virtual threads
+     */
+    public GameConfig useVirtualThreads(){
+        return setExecutor(VirtualThreads.newVirtualThreadPerTaskExecutor());
+    }
+
+    public TurnOrder getTurnOrder(){
+        return this.turnOrder;
+    }
+
+    /**
+     * @param turnOrder order players take turns in when the game is simulated on one thread
+     * @return this config
+     */
+    public GameConfig setTurnOrder(TurnOrder turnOrder){
+        this.turnOrder = turnOrder;
+        return this;
+    }
+
+    public long getSeed(){
+        return this.seed;
+    }
+
+    /**
+     * @param seed seed for {@link TurnOrder#SEEDED_RANDOM}
+     * @return this config
+     */
+    public GameConfig setSeed(long seed){
+        this.seed = seed;
+        return this;
+    }
+
+    /**
+     * @return directory player logs and deck files are written to, null when nothing is written
+     */
+    public String getOutputDir(){
+        return this.outputDir;
+    }
+
+    /**
+     * @param outputDir directory to write player logs and deck files to, null to write nothing
+     * @return this config
+     */
+    public GameConfig setOutputDir(String outputDir){
+        this.outputDir = outputDir;
+        return this;
+    }
+
+    public LogMode getLogMode(){
+        return this.logMode;
+    }
+
+    /**
+     * @param logMode how player logs and deck files are written, output is the same in every mode
+     * @return this config
+     */
+    public GameConfig setLogMode(LogMode logMode){
+        this.logMode = logMode;
+        return this;
+    }
+
+    public int getLogWriters(){
+        return this.logWriters;
+    }
+
+    /**
+     * @param logWriters amount of threads writing files in asynchronous log modes
+     * @return this config
+     */
+    public GameConfig setLogWriters(int logWriters){
+        if (logWriters < 1) {
+            throw new IllegalArgumentException("Log writer amount must be larger than 0");
+        }
+        this.logWriters = logWriters;
+        return this;
+    }
+
+    public boolean isMetricsEnabled(){
+        return this.metrics;
+    }
+
+    /**
+     * @param metrics if the game publishes live turn, wait and deck metrics over JMX, see {@link src.metrics.GameMetrics}
+     * @return this config
+     */
+    public GameConfig setMetricsEnabled(boolean metrics){
+        this.metrics = metrics;
+        return this;
+    }
+
+    public boolean isStallDetectionEnabled(){
+        return this.stallDetection;
+    }
+
+    /**
+     * Games that can never be won are ended without a winner instead of running forever.
+     * Simulated round robin games are ended as soon as they repeat a round, threaded games once their sampled
+     * state keeps repeating, which only suggests a loop, see {@link StallWatchdog}.
+     * @param stallDetection if looping games are ended
+     * @return this config
+     */
+    public GameConfig setStallDetectionEnabled(boolean stallDetection){
+        this.stallDetection = stallDetection;
+        return this;
+    }
+
+    public boolean isSnapshotsEnabled(){
+        return this.snapshots;
+    }
+
+    /**
+     * Players of a game that can be snapshotted check for a pending snapshot every turn, so this is off unless
+     * asked for, see {@link CardGame#snapshot()}
+     * @param snapshots if consistent snapshots can be taken while the game runs
+     * @return this config
+     */
+    public GameConfig setSnapshotsEnabled(boolean snapshots){
+        this.snapshots = snapshots;
+        return this;
+    }
+}
@@ -0,0 +1,77 @@
+package src;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder events of a game. All are off by default, so a recording must enable each by its name,
+ * e.g. {@code src.Turn#enabled=true} in a settings file or {@code Recording.enable("src.Turn")}.
+ * Events are only filled in once {@code shouldCommit()} says a recording wants them, so with no recording
+ * they cost a check of a flag.
+ */
+final class GameEvents {
+    private GameEvents(){
+    }
+
+    @Name("src.Turn")
+    @Label("Turn")
+    @Category({"Card Game"})
+    @Description("A player discards a card to its right deck and draws one from its left deck")
+    @StackTrace(false)
+    @Enabled(false)
+    static class Turn extends Event {
+        @Label("Player")
+        int player;
+
+        @Label("Discarded Card")
+        int discarded;
+
+        @Label("Discarded To Deck")
+        int discardDeck;
+
+        @Label("Drawn Card")
+        int drawn;
+
+        @Label("Drawn From Deck")
+        int drawDeck;
+    }
+
+    @Name("src.DeckWait")
+    @Label("Deck Wait")
+    @Category({"Card Game"})
+    @Description("The deck's consumer blocked while the deck was empty")
+    @StackTrace(false)
+    @Enabled(false)
+    static class DeckWait extends Event {
+        @Label("Deck")
+        int deck;
+
+        @Label("Timeout")
+        @Timespan(Timespan.MILLISECONDS)
+        long timeout;
+
+        @Label("Card Arrived")
+        boolean cardArrived;
+    }
+
+    @Name("src.Win")
+    @Label("Win")
+    @Category({"Card Game"})
+    @Description("A player declared the game's winning hand")
+    @StackTrace(false)
+    @Enabled(false)
+    static class Win extends Event {
+        @Label("Player")
+        int player;
+
+        @Label("Turns")
+        @Description("Turns the winner took")
+        long turns;
+    }
+}
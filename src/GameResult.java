@@ -0,0 +1,44 @@
+package src;
+
+/**
+ * Summary of a finished game
+ */
+public class GameResult {
+    /** Position of the game's pack in the collection given to {@link GameRunner}, 0 otherwise */
+    public final int index;
+    public final int playerAmount;
+    /** Number of the winning player, 0 if nobody won */
+    public final int winner;
+    /** Turns taken by every player together */
+    public final long turns;
+    public final long elapsedNanos;
+
+    public GameResult(int playerAmount, int winner, long turns, long elapsedNanos){
+        this(0, playerAmount, winner, turns, elapsedNanos);
+    }
+
+    public GameResult(int index, int playerAmount, int winner, long turns, long elapsedNanos){
+        this.index = index;
+        this.playerAmount = playerAmount;
+        this.winner = winner;
+        this.turns = turns;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * @param index position of the game's pack
+     * @return a copy of this result with the given index
+     */
+    public GameResult withIndex(int index){
+        return new GameResult(index, this.playerAmount, this.winner, this.turns, this.elapsedNanos);
+    }
+
+    @Override
+    public String toString(){
+        return String.format(
+            "game %d: %d players, %s, %d turns, %d ms",
+            this.index, this.playerAmount, this.winner == 0 ? "no winner" : "winner "+this.winner,
+            this.turns, this.elapsedNanos / 1_000_000
+        );
+    }
+}
@@ -0,0 +1,127 @@
+package src;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs many independent games at once on a shared thread pool.
+ * Each game is played by a {@link SimulationEngine} on a single pool thread,
+ * so a bounded pool is never blocked by players waiting on each other.
+ */
+public class GameRunner implements AutoCloseable {
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final GameConfig config;
+
+    /**
+     * @param threads amount of games to run at once
+     * @param config options for every game, each game writes its output to a "game" + index subdirectory
+     */
+    public GameRunner(int threads, GameConfig config){
+        this(Executors.newFixedThreadPool(threads), true, config);
+    }
+
+    /**
+     * @param executor pool to run games on, not shut down by {@link GameRunner#close()}
+     * @param config options for every game, each game writes its output to a "game" + index subdirectory
+     */
+    public GameRunner(ExecutorService executor, GameConfig config){
+        this(executor, false, config);
+    }
+
+    private GameRunner(ExecutorService executor, boolean ownsExecutor, GameConfig config){
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.config = config;
+    }
+
+    /**
+     * Starts a game for every pack
+     * @param packs starting packs, the result's index is the pack's position in iteration order
+     * @return results in the order the games finish, {@code next()} waits for the next game to finish
+     */
+    public Iterator<GameResult> runAll(Collection<Pack> packs){
+        List<Pack> games = new ArrayList<>(packs);
+        return runAll(games.size(), (gameIndex, gameConfig) -> {
+            CardGame game = CardGame.simulate(games.get(gameIndex), gameConfig);
+            game.unregisterMetrics();
+            return game.getResult().withIndex(gameIndex);
+        });
+    }
+
+    /**
+     * One game started by {@link GameRunner#runAll(int, Game)}
+     * @param <T> what the game gives once played
+     */
+    interface Game<T> {
+        /**
+         * Plays the game on a pool thread
+         * @param gameIndex the game's index
+         * @param gameConfig options for the game, writing to the game's own subdirectory
+         * @return what the game gives
+         */
+        T play(int gameIndex, GameConfig gameConfig) throws Exception;
+    }
+
+    /**
+     * Starts games that are not given as packs, such as games read from pack files
+     * @param gameAmount amount of games, indexed from 0
+     * @param game plays the game with the given index
+     * @return what each game gives in the order the games finish, {@code next()} waits for the next game to finish
+     */
+    <T> Iterator<T> runAll(int gameAmount, Game<T> game){
+        CompletionService<T> completion = new ExecutorCompletionService<>(this.executor);
+        for (int i = 0; i < gameAmount; i++) {
+            final int gameIndex = i;
+            final GameConfig gameConfig = configFor(gameIndex);
+            completion.submit(() -> game.play(gameIndex, gameConfig));
+        }
+
+        return new Iterator<T>() {
+            private int remaining = gameAmount;
+
+            @Override
+            public boolean hasNext(){
+                return this.remaining > 0;
+            }
+
+            @Override
+            public T next(){
+                if (this.remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                this.remaining--;
+                try {
+                    return completion.take().get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Game failed", e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for a game", e);
+                }
+            }
+        };
+    }
+
+    private GameConfig configFor(int gameIndex){
+        if (this.config.getOutputDir() == null) {
+            return this.config;
+        }
+        return new GameConfig(this.config).setOutputDir(this.config.getOutputDir()+"/game"+gameIndex);
+    }
+
+    @Override
+    public void close(){
+        if (this.ownsExecutor) {
+            this.executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package src;
+
+/**
+ * Every hand and deck of a game as they were at one consistent cut, taken while the game kept running,
+ * see {@link CardGame#snapshot()}. No card is missing or counted twice, though players may have reached the cut
+ * at different times. Players and decks are numbered from 1.
+ */
+public class GameSnapshot {
+    /** Number of the snapshot within its game, from 1 */
+    public final long epoch;
+    private final int[][] hands;
+    private final int[][] decks;
+
+    GameSnapshot(long epoch, int[][] hands, int[][] decks){
+        this.epoch = epoch;
+        this.hands = hands;
+        this.decks = decks;
+    }
+
+    /**
+     * @return amount of players, and of decks
+     */
+    public int getPlayerAmount(){
+        return this.hands.length;
+    }
+
+    /**
+     * @param player the player's number
+     * @return values of the player's hand, in hand order
+     */
+    public int[] getHand(int player){
+        return this.hands[checkNumber(player)].clone();
+    }
+
+    /**
+     * @param deckNumber the deck's number
+     * @return values of the deck's cards, top first
+     */
+    public int[] getDeck(int deckNumber){
+        return this.decks[checkNumber(deckNumber)].clone();
+    }
+
+    /**
+     * @return amount of cards in every hand and deck together, the same as the game was dealt
+     */
+    public long getCardCount(){
+        long cards = 0;
+        for (int i = 0; i < this.hands.length; i++) {
+            cards += this.hands[i].length + this.decks[i].length;
+        }
+        return cards;
+    }
+
+    private int checkNumber(int number){
+        if (number < 1 || number > this.hands.length) {
+            throw new IndexOutOfBoundsException(number+" of "+this.hands.length);
+        }
+        return number - 1;
+    }
+}
@@ -1,36 +1,101 @@
 package src;
 
-import src.exceptions.AlreadyWon;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
+/**
+ * Win state shared by the players of one game.
+ * The first player to declare a win sets it with a single compare-and-set, later declarations change nothing.
+ * A game that can never be won is ended the same way, see {@link #endWithoutWinner()}.
+ */
 public class GameState {
-    private static GameState INSTANCE;
-
-    private boolean isWon_ = false;
-    private Player wonBy_;
-
-    private GameState() {        
+    private static final VarHandle OUTCOME;
+    /** Outcome of a game ended without a winner */
+    private static final Object NO_WINNER = new Object();
+    static {
+        try {
+            OUTCOME = MethodHandles.lookup().findVarHandle(GameState.class, "outcome_", Object.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
     }
 
-    public synchronized static GameState getInstance() {
-        if(INSTANCE == null) {
-            INSTANCE = new GameState();
-        }
-        return INSTANCE;
+    // The winning player or NO_WINNER once the game is over
+    private volatile Object outcome_;
+    private volatile long wonAt;
+    private Runnable onWin;
+
+    public GameState() {
     }
 
     public boolean isWon(){
-        return this.isWon_;
+        return this.outcome_ instanceof Player;
     }
 
+    /**
+     * @return the winner, null while nobody has won or if the game ended without a winner
+     */
     public Player wonBy(){
-        return this.wonBy_;
+        Object outcome = this.outcome_;
+        return outcome instanceof Player ? (Player) outcome : null;
+    }
+
+    /**
+     * @return if the game has been won or ended without a winner, players stop once it is
+     */
+    public boolean isOver(){
+        return this.outcome_ != null;
+    }
+
+    /**
+     * @return {@link System#nanoTime()} when the game was won, only meaningful once {@link #isWon()}
+     */
+    public long wonAt(){
+        return this.wonAt;
     }
-    
-    public synchronized void declareWin(Player player) throws AlreadyWon{
-        if (this.wonBy_ != null) {
-            throw new AlreadyWon(String.format("Player %d has already declared a win", wonBy_.getPlayerNumber()));
+
+    /**
+     * Sets what the winning player runs right after winning, e.g. waking players that wait for cards.
+     * Also run when the game ends without a winner.
+     * Must be set before any player starts.
+     * @param onWin action to run, null for none
+     */
+    public void onWin(Runnable onWin){
+        this.onWin = onWin;
+    }
+
+    /**
+     * @param player the player declaring a win
+     * @return if the player won, false if another player already had or the game had ended
+     */
+    public boolean declareWin(Player player){
+        if (!OUTCOME.compareAndSet(this, null, player)) {
+            return false;
+        }
+        this.wonAt = System.nanoTime();
+        GameEvents.Win event = new GameEvents.Win();
+        if (event.shouldCommit()) {
+            event.player = player.getPlayerNumber();
+            event.turns = player.getTurns();
+            event.commit();
+        }
+        if (this.onWin != null) {
+            this.onWin.run();
+        }
+        return true;
+    }
+
+    /**
+     * Ends a game that can never be won, players stop as they would after a win
+     * @return if the game was ended, false if it was already won or ended
+     */
+    public boolean endWithoutWinner(){
+        if (!OUTCOME.compareAndSet(this, null, NO_WINNER)) {
+            return false;
+        }
+        if (this.onWin != null) {
+            this.onWin.run();
         }
-        this.wonBy_ = player;
-        this.isWon_ = true;
+        return true;
     }
 }
@@ -4,38 +4,112 @@ import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
 
 import src.exceptions.InvalidPack;
 import src.exceptions.InvalidPlayerAmount;
-import src.exceptions.MaxLines;
-import src.utils.FileIO;
-import src.utils.Random;
 
 public class Pack{
+    /** Cards each player holds unless stated otherwise */
+    public static final int DEFAULT_HAND_SIZE = 4;
+    /** Cards generated by one task, fixed so a seed gives the same pack whatever the amount of threads */
+    private static final int GENERATE_CHUNK = 1 << 16;
 
-    private final Card[] cards;
+    // Values rather than cards, cards are only made when dealing and then shared through Card.valueOf
+    private final int[] values;
     public final int playerAmount;
+    /** Cards in each player's hand and in each deck at the start of a game */
+    public final int handSize;
 
-    private Pack(Card[] cards, int playerAmount){
-        this.cards = cards;
+    /**
+     * Takes already valid values without copying them
+     */
+    private Pack(int playerAmount, int handSize, int[] values){
+        this.values = values;
         this.playerAmount = playerAmount;
+        this.handSize = handSize;
     };
 
     public Pack(int[] cards, int playerAmount) throws InvalidPack {
-        this.cards = validatePack(cards, playerAmount);
+        this(cards, playerAmount, DEFAULT_HAND_SIZE);
+    }
+
+    /**
+     * @param cards the pack's values, 2 * handSize * playerAmount of them
+     * @param playerAmount player amount
+     * @param handSize cards in each hand and deck at the start of a game
+     * @throws InvalidPack Pack is invalid
+     */
+    public Pack(int[] cards, int playerAmount, int handSize) throws InvalidPack {
+        checkValues(cards, playerAmount, handSize);
+        this.values = cards.clone();
         this.playerAmount = playerAmount;
+        this.handSize = handSize;
     }
 
     public Iterator<Card> iterator(){
-        return Arrays.stream(this.cards).iterator();
+        return Arrays.stream(this.values).mapToObj(Card::valueOf).iterator();
     }
 
+    /**
+     * @return the pack's cards, a new array on every call
+     */
     public Card[] getCards(){
-        return this.cards;
+        Card[] cards = new Card[this.values.length];
+        for (int i = 0; i < cards.length; i++) {
+            cards[i] = Card.valueOf(this.values[i]);
+        }
+        return cards;
     };
 
+    /**
+     * @return the pack's values in order, not copied so must not be changed
+     */
+    public int[] getValues(){
+        return this.values;
+    }
+
+    /**
+     * @param index the card's position in the pack
+     * @return the card's value
+     */
+    public int valueAt(int index){
+        return this.values[index];
+    }
+
+    /**
+     * @return amount of cards in the pack
+     */
+    public int size(){
+        return this.values.length;
+    }
+
+    /**
+     * Cards dealt to a player's hand, the first handSize rounds of dealing one card to each player
+     * @param playerIndex the player's index, from 0
+     * @return view of the hand's cards in the pack
+     */
+    public PackView hand(int playerIndex){
+        return view(playerIndex, 0);
+    }
+
+    /**
+     * Cards dealt to a deck, the handSize rounds after the hands are dealt
+     * @param deckIndex the deck's index, from 0
+     * @return view of the deck's cards in the pack, top first
+     */
+    public PackView deck(int deckIndex){
+        return view(deckIndex, this.handSize*this.playerAmount);
+    }
+
+    private PackView view(int index, int start){
+        if (index < 0 || index >= this.playerAmount) {
+            throw new IndexOutOfBoundsException("Player "+index+" of "+this.playerAmount);
+        }
+        return new PackView(this.values, start + index, this.playerAmount, this.handSize);
+    }
+
     /**
      * Each element on a new line
      */
@@ -43,8 +117,8 @@ public class Pack{
     public String toString(){
         StringBuilder builder = new StringBuilder();
 
-        for (Card element : this.cards) {
-            builder.append(element.toString()).append("\n");
+        for (int value : this.values) {
+            builder.append(value).append('\n');
         }
 
         return builder.toString();
@@ -56,31 +130,109 @@ public class Pack{
      * @return The generated pack
      */
     public static Pack generatePack(int n) throws InvalidPlayerAmount{
+        return generatePack(n, DEFAULT_HAND_SIZE);
+    };
+
+    /**
+     * Generates a pack of cards to draw from with a random seed
+     * @param n Player amount, card values are 1 to n
+     * @param handSize Generates 2 * handSize * n cards
+     * @return The generated pack
+     */
+    public static Pack generatePack(int n, int handSize) throws InvalidPlayerAmount{
+        return generatePack(n, handSize, new SplittableRandom().nextLong());
+    };
+
+    /**
+     * Generates a pack of cards to draw from, the same seed always gives the same pack.
+     * Large packs are filled in parallel, each fixed-size chunk from its own generator split off the seed's.
+     * @param n Player amount, card values are 1 to n
+     * @param handSize Generates 2 * handSize * n cards
+     * @param seed seed of the generator
+     * @return The generated pack
+     */
+    public static Pack generatePack(int n, int handSize, long seed) throws InvalidPlayerAmount{
         if (n <= 0) {
             throw new InvalidPlayerAmount("Player amount must not be less than 1");
         }
+        if (handSize <= 0) {
+            throw new IllegalArgumentException("Hand size must not be less than 1");
+        }
 
-        Card[] pack = new Card[8*n];
+        int[] pack = new int[2*handSize*n];
 
-        for (int i = 0; i < 8*n; i++) {
-            pack[i] = new Card(Random.randInt(1, n+1));
+        SplittableRandom random = new SplittableRandom(seed);
+        SplittableRandom[] chunkRandoms = new SplittableRandom[(pack.length + GENERATE_CHUNK - 1) / GENERATE_CHUNK];
+        for (int chunk = 0; chunk < chunkRandoms.length; chunk++) {
+            chunkRandoms[chunk] = random.split();
+        }
+        IntStream chunks = IntStream.range(0, chunkRandoms.length);
+        if (chunkRandoms.length > 1) {
+            chunks = chunks.parallel();
         }
+        chunks.forEach(chunk -> {
+            SplittableRandom chunkRandom = chunkRandoms[chunk];
+            int end = Math.min(pack.length, (chunk + 1) * GENERATE_CHUNK);
+            for (int i = chunk * GENERATE_CHUNK; i < end; i++) {
+                pack[i] = chunkRandom.nextInt(1, n+1);
+            }
+        });
 
-        return new Pack(pack, n);
+        return new Pack(n, handSize, pack);
     };
 
     /**
-     * Writes this pack to a file
+     * Writes this pack to a file, each value on a new line, streamed through a small buffer
      * @param filename The file to write to
      */
     public void writeToFile(String filename) throws IOException{
-        FileIO.writeToFile(filename, this.toString());
+        try (PackWriter writer = new PackWriter(filename)) {
+            for (int value : this.values) {
+                writer.write(value);
+            }
+        }
     };
-  
+
+    /**
+     * Generates a pack straight into a file without holding it in memory,
+     * the file is the same as {@link Pack#generatePack(int, int, long)} with the same seed then written to file
+     * @param filename The file to write to
+     * @param n Player amount, card values are 1 to n
+     * @param handSize Generates 2 * handSize * n cards
+     * @param seed seed of the generator
+     */
+    public static void writeGeneratedPack(String filename, int n, int handSize, long seed) throws IOException, InvalidPlayerAmount{
+        if (n <= 0) {
+            throw new InvalidPlayerAmount("Player amount must not be less than 1");
+        }
+        if (handSize <= 0) {
+            throw new IllegalArgumentException("Hand size must not be less than 1");
+        }
+
+        long cardAmount = 2L*handSize*n;
+        SplittableRandom random = new SplittableRandom(seed);
+        try (PackWriter writer = new PackWriter(filename)) {
+            for (long chunkStart = 0; chunkStart < cardAmount; chunkStart += GENERATE_CHUNK) {
+                SplittableRandom chunkRandom = random.split();
+                long end = Math.min(cardAmount, chunkStart + GENERATE_CHUNK);
+                for (long i = chunkStart; i < end; i++) {
+                    writer.write(chunkRandom.nextInt(1, n+1));
+                }
+            }
+        }
+    };
+
     /**
      * Overloaded method, see {@link Pack#validatePack(int[], int)}
      */
     public static Card[] validatePack(String[] pack, int n) throws InvalidPack{
+        return validatePack(pack, n, DEFAULT_HAND_SIZE);
+    }
+
+    /**
+     * Overloaded method, see {@link Pack#validatePack(int[], int, int)}
+     */
+    public static Card[] validatePack(String[] pack, int n, int handSize) throws InvalidPack{
         // Converts string to int then pass into validatePack(int[], int)
         if (pack == null) {
             throw new InvalidPack("Pack must not be null");
@@ -96,29 +248,45 @@ public class Pack{
             }
         }
 
-        return validatePack(convertToInt, n);
+        return validatePack(convertToInt, n, handSize);
     };
 
+    /**
+     * Overloaded method, see {@link Pack#validatePack(int[], int, int)}
+     */
+    public static Card[] validatePack(int[] pack, int n) throws InvalidPack{
+        return validatePack(pack, n, DEFAULT_HAND_SIZE);
+    }
+
     /**
      * Validates a an array containing the pack's values and converts it into Card[]
      * @param pack the pack to validate
      * @param n player amount
+     * @param handSize cards in each hand, the pack must hold 2 * handSize * n cards
      * @return the converted array
      * @throws InvalidPack Pack is invalid
      */
-    public static Card[] validatePack(int[] pack, int n) throws InvalidPack{
+    public static Card[] validatePack(int[] pack, int n, int handSize) throws InvalidPack{
+        checkValues(pack, n, handSize);
+        Card[] output = new Card[pack.length];
+        for (int i = 0; i < pack.length; i++) {
+            output[i] = Card.valueOf(pack[i]);
+        }
+        return output;
+    }
+
+    private static void checkValues(int[] pack, int n, int handSize) throws InvalidPack{
         if (pack == null) {
             throw new InvalidPack("Pack must not be null");
         }
 
-        if (pack.length != (8*n)) {
+        if (pack.length != (2*handSize*n)) {
             throw new InvalidPack(String.format(
-                "Array length must be 8 times player amount (%d), is instead %d", 
-                8*n, pack.length
+                "Array length must be %d times player amount (%d), is instead %d", 
+                2*handSize, 2*handSize*n, pack.length
             ));
         }
 
-        Card[] output = new Card[pack.length];
         for (int i = 0; i < pack.length; i++) {
             if (pack[i] < 0) {
                 throw new InvalidPack(String.format(
@@ -126,10 +294,7 @@ public class Pack{
                     i, pack[i]
                 ));
             }
-
-            output[i] = new Card(pack[i]);
         }
-        return output;
     }
 
     /**
@@ -142,30 +307,21 @@ public class Pack{
      * @return Pack object
      */
     public static Pack readPack(String filename, int playerAmount) throws IOException, FileNotFoundException, InvalidPack{
-        String[] stringPack;
-        Card[] cards;
-        try {
-            stringPack = FileIO.fileToLines(filename, 8*playerAmount);
-            cards = validatePack(stringPack, playerAmount);
-        } catch (MaxLines e) {
-            throw new InvalidPack(String.format(
-                "File's line count must be 8 times player amount (%d lines), instead found >%d lines", 
-                8*playerAmount, 8*playerAmount
-            ));
-        } catch (InvalidPack e) {
-            // rethrow exception but modify the message
-            // e.g. Element 0 -> Line 1, Array length -> File line count
-            String message = e.getMessage();
-            Pattern pattern = Pattern.compile("(Element)\\s(\\d+)(\\s.+)");
-            Matcher matcher = pattern.matcher(message);
-            if (matcher.find()) {
-                int digit = Integer.valueOf(matcher.group(2)) + 1;
-                message = "Line " + digit + matcher.group(3);
-            }
-            throw new InvalidPack(message.replaceAll("Array length", "File line count"), e);
-        }
-        
-        return new Pack(cards, playerAmount);
+        return readPack(filename, playerAmount, DEFAULT_HAND_SIZE);
+    }
+
+    /**
+     * Reads a pack from a text file
+     * @param filename The file to read from
+     * @param playerAmount player amount
+     * @param handSize cards in each hand, the file must hold 2 * handSize * playerAmount lines
+     * @throws IOException Error when reading file
+     * @throws FileNotFoundException File not found
+     * @throws InvalidPack Given pack file is invalid
+     * @return Pack object
+     */
+    public static Pack readPack(String filename, int playerAmount, int handSize) throws IOException, FileNotFoundException, InvalidPack{
+        return new Pack(playerAmount, handSize, PackParser.parse(filename, playerAmount, handSize));
     };
 
 }
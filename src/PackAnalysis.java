@@ -0,0 +1,188 @@
+package src;
+
+import java.util.Arrays;
+
+/**
+ * What a pack tells about its game before any turn is taken.
+ * A hand wins when all its cards share a value, and cards are only ever passed on, never made,
+ * so a game where no value occurs handSize times can never be won. Players keep cards of their own number,
+ * so a player whose number occurs fewer than handSize times can only win with a run of another value.
+ * <p>
+ * Found in one pass over the pack's values in pack order, so it can be worked out while a pack file is streamed.
+ * Players are numbered from 1.
+ */
+public class PackAnalysis {
+    public final int playerAmount;
+    public final int handSize;
+    private final int[] inPack;  // copies of each player's number in the pack, index 0 unused
+    private final int[] inHand;  // copies of each player's number in their dealt hand, index 0 unused
+    private final int initialWinner;
+    private final int mostCopies;
+
+    private PackAnalysis(int playerAmount, int handSize, int[] inPack, int[] inHand, int initialWinner, int mostCopies){
+        this.playerAmount = playerAmount;
+        this.handSize = handSize;
+        this.inPack = inPack;
+        this.inHand = inHand;
+        this.initialWinner = initialWinner;
+        this.mostCopies = mostCopies;
+    }
+
+    /**
+     * @param pack the pack to analyse
+     * @return the pack's analysis
+     */
+    public static PackAnalysis of(Pack pack){
+        Builder builder = new Builder(pack.playerAmount, pack.handSize);
+        int[] values = pack.getValues();
+        for (int i = 0; i < values.length; i++) {
+            builder.accept(i, values[i]);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return number of the first player dealt a winning hand, 0 if nobody was.
+     *     That player can win before anyone takes a turn.
+     */
+    public int getInitialWinner(){
+        return this.initialWinner;
+    }
+
+    /**
+     * @return most copies of any one value in the pack
+     */
+    public int getMostCopies(){
+        return this.mostCopies;
+    }
+
+    /**
+     * @return if any hand can ever win, some value occurs at least handSize times
+     */
+    public boolean isWinnable(){
+        return this.mostCopies >= this.handSize;
+    }
+
+    /**
+     * @return if the game's outcome is known before any turn, a player was dealt a winning hand or nobody can win
+     */
+    public boolean isOutcomeKnown(){
+        return this.initialWinner != 0 || !isWinnable();
+    }
+
+    /**
+     * @param player the player's number
+     * @return copies of the player's number in the whole pack
+     */
+    public int preferredInPack(int player){
+        return this.inPack[checkPlayer(player)];
+    }
+
+    /**
+     * @param player the player's number
+     * @return copies of the player's number in the player's dealt hand
+     */
+    public int preferredInHand(int player){
+        return this.inHand[checkPlayer(player)];
+    }
+
+    /**
+     * @param player the player's number
+     * @return if enough of the player's number is in the pack for a winning hand of it
+     */
+    public boolean canCollectPreferred(int player){
+        return preferredInPack(player) >= this.handSize;
+    }
+
+    /**
+     * @return amount of players that can collect a winning hand of their own number
+     */
+    public int getReachablePlayers(){
+        int reachable = 0;
+        for (int player = 1; player <= this.playerAmount; player++) {
+            if (this.inPack[player] >= this.handSize) {
+                reachable++;
+            }
+        }
+        return reachable;
+    }
+
+    private int checkPlayer(int player){
+        if (player < 1 || player > this.playerAmount) {
+            throw new IndexOutOfBoundsException("Player "+player+" of "+this.playerAmount);
+        }
+        return player;
+    }
+
+    /**
+     * Takes a pack's values in pack order, as they are dealt
+     */
+    static class Builder implements PackParser.ValueSink {
+        private final int playerAmount;
+        private final int handSize;
+        private final int[] inPack;
+        private final int[] inHand;
+        private final int[] firstInHand;
+        private final boolean[] mixedHand;
+        // Values that are no player's number, only counted once the pack is complete
+        private int[] others = new int[16];
+        private int otherAmount = 0;
+
+        Builder(int playerAmount, int handSize){
+            this.playerAmount = playerAmount;
+            this.handSize = handSize;
+            this.inPack = new int[playerAmount + 1];
+            this.inHand = new int[playerAmount + 1];
+            this.firstInHand = new int[playerAmount];
+            this.mixedHand = new boolean[playerAmount];
+        }
+
+        @Override
+        public void accept(int index, int value){
+            int player = index % this.playerAmount;
+            int round = index / this.playerAmount;
+            if (round < this.handSize) {
+                if (round == 0) {
+                    this.firstInHand[player] = value;
+                } else if (value != this.firstInHand[player]) {
+                    this.mixedHand[player] = true;
+                }
+                if (value == player + 1) {
+                    this.inHand[player + 1]++;
+                }
+            }
+
+            if (value >= 1 && value <= this.playerAmount) {
+                this.inPack[value]++;
+            } else {
+                if (this.otherAmount == this.others.length) {
+                    this.others = Arrays.copyOf(this.others, this.others.length * 2);
+                }
+                this.others[this.otherAmount++] = value;
+            }
+        }
+
+        PackAnalysis build(){
+            int initialWinner = 0;
+            for (int player = 0; player < this.playerAmount && initialWinner == 0; player++) {
+                if (!this.mixedHand[player]) {
+                    initialWinner = player + 1;
+                }
+            }
+
+            int mostCopies = 0;
+            for (int count : this.inPack) {
+                mostCopies = Math.max(mostCopies, count);
+            }
+            Arrays.sort(this.others, 0, this.otherAmount);
+            for (int i = 0, run = 0; i < this.otherAmount; i++) {
+                run = (i > 0 && this.others[i] == this.others[i - 1]) ? run + 1 : 1;
+                mostCopies = Math.max(mostCopies, run);
+            }
+
+            return new PackAnalysis(
+                this.playerAmount, this.handSize, this.inPack, this.inHand, initialWinner, mostCopies
+            );
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package src;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+import src.exceptions.InvalidPack;
+
+/**
+ * Many packs in one memory-mapped file, any of which can be read by index without reading the others.
+ * <p>
+ * Layout, all fixed-width numbers big-endian:
+ * <ul>
+ * <li>header: {@link #MAGIC}, {@link #VERSION}, pack amount (ints) and the index's offset (long)</li>
+ * <li>packs: player amount, hand size and then every card value, each as an unsigned LEB128 varint</li>
+ * <li>index: offset of each pack followed by the offset of the index itself (longs), so pack i spans
+ *     {@code index[i]} to {@code index[i+1]}</li>
+ * </ul>
+ * The index is written last so packs can be streamed in without knowing their amount up front.
+ * <p>
+ * Usage: {@code java src.PackArchive create <archive> <hand size> <pack files...>}
+ * or {@code java src.PackArchive extract <archive> <directory>}
+ */
+public class PackArchive implements Closeable {
+    static final int MAGIC = 0x43475041;  // "CGPA"
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 20;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int size;
+    private final long indexOffset;
+
+    private PackArchive(FileChannel channel, MappedByteBuffer buffer) throws InvalidPack{
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new InvalidPack("Not a pack archive");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new InvalidPack("Unsupported pack archive version "+buffer.getInt(4));
+        }
+        this.size = buffer.getInt(8);
+        this.indexOffset = buffer.getLong(12);
+        if (this.size < 0 || this.indexOffset < HEADER_BYTES
+                || this.indexOffset + 8L*(this.size + 1) != buffer.capacity()) {
+            throw new InvalidPack("Pack archive index does not match file size");
+        }
+    }
+
+    /**
+     * Maps an archive for reading
+     * @param filename the archive's path
+     * @return the open archive
+     * @throws FileNotFoundException file not found
+     * @throws IOException error when mapping the file, or the file is 2 GB or larger
+     * @throws InvalidPack the file is not a pack archive
+     */
+    public static PackArchive open(String filename) throws IOException, FileNotFoundException, InvalidPack{
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(filename+" (No such file or directory)");
+        }
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Pack archives must be smaller than 2 GB, split "+filename);
+            }
+            return new PackArchive(channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException | InvalidPack | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return amount of packs in the archive
+     */
+    public int size(){
+        return this.size;
+    }
+
+    private int offset(int index){
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Pack "+index+" of "+this.size);
+        }
+        return (int) this.buffer.getLong((int) this.indexOffset + 8*index);
+    }
+
+    /**
+     * @param index the pack's index
+     * @return player amount of the pack, read without reading its cards
+     */
+    public int playerAmount(int index){
+        return (int) readVarint(this.buffer, offset(index));
+    }
+
+    /**
+     * Reads a pack
+     * @param index the pack's index
+     * @return the pack
+     * @throws InvalidPack the stored pack is invalid
+     */
+    public Pack get(int index) throws InvalidPack{
+        long position = offset(index);
+        long end = this.buffer.getLong((int) this.indexOffset + 8*(index + 1));
+
+        long playerAmount = readVarint(this.buffer, position);
+        position += varintBytes(playerAmount);
+        long handSize = readVarint(this.buffer, position);
+        position += varintBytes(handSize);
+        if (playerAmount <= 0 || handSize <= 0 || playerAmount > Integer.MAX_VALUE || handSize > Integer.MAX_VALUE
+                || 2*handSize*playerAmount > end - position) {
+            throw new InvalidPack(String.format("Pack %d has an invalid size", index));
+        }
+
+        int[] values = new int[(int) (2*handSize*playerAmount)];
+        for (int i = 0; i < values.length; i++) {
+            if (position >= end) {
+                throw new InvalidPack(String.format("Pack %d ends after %d of %d cards", index, i, values.length));
+            }
+            long value = readVarint(this.buffer, position);
+            position += varintBytes(value);
+            if (value > Integer.MAX_VALUE) {
+                throw new InvalidPack(String.format("Card %d of pack %d is too large: \"%d\"", i, index, value));
+            }
+            values[i] = (int) value;
+        }
+        return new Pack(values, (int) playerAmount, (int) handSize);
+    }
+
+    @Override
+    public void close() throws IOException{
+        this.channel.close();
+    }
+
+    /**
+     * Reads an unsigned LEB128 varint, at most 10 bytes
+     */
+    private static long readVarint(ByteBuffer buffer, long position){
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get((int) position++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        return -1;
+    }
+
+    private static int varintBytes(long value){
+        int bytes = 1;
+        while ((value >>>= 7) != 0) {
+            bytes++;
+        }
+        return bytes;
+    }
+
+    /**
+     * @param filename path of the archive to create, replacing any existing file
+     * @return writer for the new archive
+     * @throws IOException error when creating the file
+     */
+    public static Writer create(String filename) throws IOException{
+        return new Writer(Paths.get(filename));
+    }
+
+    /**
+     * Appends packs to a new archive, the archive can only be opened once the writer is closed
+     */
+    public static class Writer implements Closeable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+        private long position = HEADER_BYTES;
+        private long[] offsets = new long[16];
+        private int size = 0;
+
+        private Writer(Path path) throws IOException{
+            this.channel = FileChannel.open(
+                path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING
+            );
+            this.channel.position(HEADER_BYTES);
+        }
+
+        private void flush() throws IOException{
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+            this.buffer.clear();
+        }
+
+        private void writeVarint(long value) throws IOException{
+            if (this.buffer.remaining() < 10) {
+                flush();
+            }
+            int start = this.buffer.position();
+            while ((value & ~0x7FL) != 0) {
+                this.buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            this.buffer.put((byte) value);
+            this.position += this.buffer.position() - start;
+        }
+
+        /**
+         * @param pack pack to append, gets the next index
+         * @throws IOException error when writing
+         */
+        public void add(Pack pack) throws IOException{
+            if (this.size == this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, this.size * 2);
+            }
+            this.offsets[this.size++] = this.position;
+            writeVarint(pack.playerAmount);
+            writeVarint(pack.handSize);
+            for (int value : pack.getValues()) {
+                writeVarint(value);
+            }
+        }
+
+        /**
+         * Writes the index and header and closes the file
+         */
+        @Override
+        public void close() throws IOException{
+            try {
+                for (int i = 0; i < this.size; i++) {
+                    if (this.buffer.remaining() < 8) {
+                        flush();
+                    }
+                    this.buffer.putLong(this.offsets[i]);
+                }
+                if (this.buffer.remaining() < 8) {
+                    flush();
+                }
+                this.buffer.putLong(this.position);
+                flush();
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES)
+                    .putInt(MAGIC).putInt(VERSION).putInt(this.size).putLong(this.position);
+                header.flip();
+                while (header.hasRemaining()) {
+                    this.channel.write(header, header.position());
+                }
+            } finally {
+                this.channel.close();
+            }
+        }
+    }
+
+    /**
+     * Creates an archive from pack text files, each file's player amount is its line count over 2 * hand size
+     * @param filename path of the archive to create
+     * @param handSize cards in each hand of every pack
+     * @param packFiles text files to read, in index order
+     * @throws IOException error when reading or writing
+     * @throws InvalidPack a text file is not a valid pack
+     */
+    public static void fromTextFiles(String filename, int handSize, String... packFiles) throws IOException, InvalidPack{
+        try (Writer writer = create(filename)) {
+            for (String packFile : packFiles) {
+                // Counted without parsing, the only full parse is the read into the pack
+                int playerAmount;
+                try {
+                    playerAmount = PackParser.inferPlayerAmount(packFile, handSize);
+                } catch (InvalidPack e) {
+                    throw new InvalidPack(packFile+": "+e.getMessage());
+                }
+                writer.add(Pack.readPack(packFile, playerAmount, handSize));
+            }
+        }
+    }
+
+    /**
+     * Writes every pack of an archive as a text file named {@code pack<index>.txt}
+     * @param filename path of the archive
+     * @param directory directory to write to, created if missing
+     * @throws IOException error when reading or writing
+     * @throws InvalidPack the archive or a pack in it is invalid
+     */
+    public static void toTextFiles(String filename, String directory) throws IOException, InvalidPack{
+        Files.createDirectories(Paths.get(directory));
+        try (PackArchive archive = open(filename)) {
+            for (int i = 0; i < archive.size(); i++) {
+                archive.get(i).writeToFile(directory+File.separator+"pack"+i+".txt");
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        try {
+            if (args.length >= 3 && args[0].equals("create")) {
+                fromTextFiles(args[1], Integer.parseInt(args[2]), Arrays.copyOfRange(args, 3, args.length));
+                return;
+            }
+            if (args.length == 3 && args[0].equals("extract")) {
+                toTextFiles(args[1], args[2]);
+                return;
+            }
+        } catch (IOException | InvalidPack | NumberFormatException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+        System.out.println("Usage: PackArchive create <archive> <hand size> <pack files...>");
+        System.out.println("       PackArchive extract <archive> <directory>");
+    }
+}
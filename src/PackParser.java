@@ -0,0 +1,319 @@
+package src;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.AccessDeniedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import src.exceptions.InvalidPack;
+
+/**
+ * Reads a pack text file straight into an int array. The file is memory-mapped and integers are parsed from its
+ * bytes, with no line strings or intermediate arrays. Accepts exactly the files and gives exactly the messages of
+ * reading every line and parsing it with {@link Integer#parseInt(String)}:
+ * lines end with {@code \n}, {@code \r} or {@code \r\n}, too many lines are reported before anything else,
+ * then the first line that is not an integer, then the line count, then the first negative value.
+ * <p>
+ * Can instead stream each value to a {@link ValueSink} as soon as its line is read, stopping at the first bad line.
+ */
+class PackParser {
+    /**
+     * Receives values in file order, only ever valid ones
+     */
+    interface ValueSink {
+        /**
+         * @param index the value's position in the pack, from 0
+         * @param value the value, not negative
+         */
+        void accept(int index, int value);
+    }
+
+    /** Largest region mapped at once, files above it are mapped in several regions */
+    private static final long MAP_BYTES = 1L << 30;
+    /** Digits in the largest int, longer lines are left to {@link Integer#parseInt(String)} */
+    private static final int MAX_DIGITS = 10;
+
+    private final Path path;
+    private final int cardAmount;
+    private final int handSize;
+    private final int[] values;  // null when streaming
+    private final ValueSink sink;  // null when collecting into values
+
+    private int lines = 0;
+    private boolean inLine = false;
+    private boolean afterCarriageReturn = false;
+
+    // Line being read
+    private long lineStart;
+    private boolean negative;
+    private int digits;
+    private long value;
+    private boolean slow;  // holds something other than a sign and ASCII digits
+
+    // First line that is not an integer, 1-based, 0 if none
+    private int invalidLine = 0;
+    private long invalidStart;
+    private long invalidEnd;
+
+    private PackParser(Path path, int cardAmount, int handSize, ValueSink sink){
+        this.path = path;
+        this.cardAmount = cardAmount;
+        this.handSize = handSize;
+        this.sink = sink;
+        this.values = sink == null ? new int[cardAmount] : null;
+    }
+
+    /**
+     * @param filename the file to read
+     * @param playerAmount player amount
+     * @param handSize cards in each hand, the file must hold 2 * handSize * playerAmount lines
+     * @return the pack's values
+     * @throws FileNotFoundException file not found, not a file or not readable
+     * @throws IOException error when reading the file
+     * @throws InvalidPack the file is not a valid pack
+     */
+    static int[] parse(String filename, int playerAmount, int handSize)
+            throws IOException, FileNotFoundException, InvalidPack{
+        PackParser parser = new PackParser(Paths.get(filename), 2*handSize*playerAmount, handSize, null);
+        parser.read(filename);
+        return parser.validate();
+    }
+
+    /**
+     * Reads a pack file once, handing each value to the sink as it is read and holding none of them.
+     * Stops at the first line that is not a positive integer or goes over the line count, so the sink may
+     * have received some values when this throws.
+     * @param filename the file to read
+     * @param playerAmount player amount
+     * @param handSize cards in each hand, the file must hold 2 * handSize * playerAmount lines
+     * @param sink receives every value in file order
+     * @throws FileNotFoundException file not found, not a file or not readable
+     * @throws IOException error when reading the file
+     * @throws InvalidPack the file is not a valid pack
+     */
+    static void stream(String filename, int playerAmount, int handSize, ValueSink sink)
+            throws IOException, FileNotFoundException, InvalidPack{
+        PackParser parser = new PackParser(Paths.get(filename), 2*handSize*playerAmount, handSize, sink);
+        parser.read(filename);
+        parser.checkLineCount();
+    }
+
+    /**
+     * Works out a pack file's player amount from its line count, without parsing it
+     * @param filename the pack file
+     * @param handSize cards in each hand
+     * @return player amount of the pack, its line count over 2 * handSize
+     * @throws FileNotFoundException file not found, not a file or not readable
+     * @throws IOException error when reading the file
+     * @throws InvalidPack the line count is not a positive multiple of 2 * handSize
+     */
+    static int inferPlayerAmount(String filename, int handSize) throws IOException, FileNotFoundException, InvalidPack{
+        long lines = countLines(filename);
+        if (lines == 0 || lines % (2*handSize) != 0 || lines / (2*handSize) > Integer.MAX_VALUE) {
+            throw new InvalidPack(String.format(
+                "File line count must be a multiple of %d, is instead %d", 2*handSize, lines
+            ));
+        }
+        return (int) (lines / (2*handSize));
+    }
+
+    /**
+     * Counts a file's lines the way parsing does, without parsing them
+     * @param filename the file to read
+     * @return amount of lines
+     * @throws FileNotFoundException file not found, not a file or not readable
+     * @throws IOException error when reading the file
+     */
+    static long countLines(String filename) throws IOException, FileNotFoundException{
+        Path path = Paths.get(filename);
+        if (Files.isDirectory(path)) {
+            throw new FileNotFoundException(filename+" (Is a directory)");
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long lines = 0;
+            byte previous = '\n';
+            for (long position = 0; position < size; position += MAP_BYTES) {
+                MappedByteBuffer region = channel.map(
+                    FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_BYTES, size - position)
+                );
+                for (int i = 0; i < region.limit(); i++) {
+                    byte b = region.get(i);
+                    // a line starts after every terminator, \r\n being one terminator
+                    if ((previous == '\n' || previous == '\r') && !(previous == '\r' && b == '\n')) {
+                        lines++;
+                    }
+                    previous = b;
+                }
+            }
+            return lines;
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(filename+" (No such file or directory)");
+        } catch (AccessDeniedException e) {
+            throw new FileNotFoundException(filename+" (Permission denied)");
+        }
+    }
+
+    private void read(String filename) throws IOException, InvalidPack{
+        if (Files.isDirectory(this.path)) {
+            throw new FileNotFoundException(filename+" (Is a directory)");
+        }
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            // Every line takes at least a byte, so smaller files cannot go over the limit
+            boolean checkLimit = size > this.cardAmount || this.sink != null;
+            for (long position = 0; position < size; position += MAP_BYTES) {
+                MappedByteBuffer region = channel.map(
+                    FileChannel.MapMode.READ_ONLY, position, Math.min(MAP_BYTES, size - position)
+                );
+                readRegion(region, position, checkLimit);
+            }
+            if (this.inLine) {
+                endLine(size);
+            }
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException(filename+" (No such file or directory)");
+        } catch (AccessDeniedException e) {
+            throw new FileNotFoundException(filename+" (Permission denied)");
+        }
+    }
+
+    private void readRegion(ByteBuffer region, long offset, boolean checkLimit) throws IOException, InvalidPack{
+        int limit = region.limit();
+        for (int i = 0; i < limit; i++) {
+            byte b = region.get(i);
+            if (this.afterCarriageReturn) {
+                this.afterCarriageReturn = false;
+                if (b == '\n') {
+                    continue;
+                }
+            }
+            if (!this.inLine) {
+                startLine(offset + i, checkLimit);
+            }
+            if (b == '\n' || b == '\r') {
+                endLine(offset + i);
+                this.afterCarriageReturn = b == '\r';
+            } else if (!this.slow) {
+                if (b >= '0' && b <= '9' && this.digits < MAX_DIGITS) {
+                    this.value = this.value * 10 + (b - '0');
+                    this.digits++;
+                } else if ((b == '-' || b == '+') && offset + i == this.lineStart) {
+                    this.negative = b == '-';
+                } else {
+                    this.slow = true;
+                }
+            }
+        }
+    }
+
+    private void startLine(long position, boolean checkLimit) throws InvalidPack{
+        this.lines++;
+        if (checkLimit && this.lines > this.cardAmount) {
+            throw new InvalidPack(String.format(
+                "File's line count must be %d times player amount (%d lines), instead found >%d lines",
+                2*this.handSize, this.cardAmount, this.cardAmount
+            ));
+        }
+        this.inLine = true;
+        this.lineStart = position;
+        this.negative = false;
+        this.digits = 0;
+        this.value = 0;
+        this.slow = false;
+    }
+
+    /**
+     * @param end position of the line's terminator, or the end of the file
+     */
+    private void endLine(long end) throws IOException, InvalidPack{
+        this.inLine = false;
+        if (this.invalidLine != 0) {
+            return;
+        }
+
+        int index = this.lines - 1;
+        long signed = this.negative ? -this.value : this.value;
+        if (!this.slow && this.digits > 0 && signed >= Integer.MIN_VALUE && signed <= Integer.MAX_VALUE) {
+            store(index, (int) signed);
+            return;
+        }
+        // Anything else, e.g. other Unicode digits, is decided by parseInt
+        int parsed;
+        try {
+            parsed = Integer.parseInt(lineText(this.lineStart, end));
+        } catch (NumberFormatException e) {
+            this.invalidLine = this.lines;
+            this.invalidStart = this.lineStart;
+            this.invalidEnd = end;
+            if (this.sink != null) {
+                throwInvalidLine();
+            }
+            return;
+        }
+        store(index, parsed);
+    }
+
+    private void store(int index, int value) throws InvalidPack{
+        if (this.sink == null) {
+            this.values[index] = value;
+            return;
+        }
+        if (value < 0) {
+            throw notPositive(index, value);
+        }
+        this.sink.accept(index, value);
+    }
+
+    /**
+     * Decodes a line the way a {@link java.io.FileReader} would, only used off the fast path
+     */
+    private String lineText(long start, long end) throws IOException{
+        ByteBuffer bytes = ByteBuffer.allocate((int) Math.min(end - start, Integer.MAX_VALUE - 8));
+        try (FileChannel channel = FileChannel.open(this.path, StandardOpenOption.READ)) {
+            while (bytes.hasRemaining() && channel.read(bytes, start + bytes.position()) >= 0) {}
+        }
+        bytes.flip();
+        return Charset.defaultCharset().decode(bytes).toString();
+    }
+
+    private int[] validate() throws IOException, InvalidPack{
+        if (this.invalidLine != 0) {
+            throwInvalidLine();
+        }
+        checkLineCount();
+        for (int i = 0; i < this.values.length; i++) {
+            if (this.values[i] < 0) {
+                throw notPositive(i, this.values[i]);
+            }
+        }
+        return this.values;
+    }
+
+    private void throwInvalidLine() throws IOException, InvalidPack{
+        throw new InvalidPack(String.format(
+            "Line %d is not integer: \"%s\"", this.invalidLine, lineText(this.invalidStart, this.invalidEnd)
+        ));
+    }
+
+    private void checkLineCount() throws InvalidPack{
+        if (this.lines != this.cardAmount) {
+            throw new InvalidPack(String.format(
+                "File line count must be %d times player amount (%d), is instead %d",
+                2*this.handSize, this.cardAmount, this.lines
+            ));
+        }
+    }
+
+    private static InvalidPack notPositive(int index, int value){
+        return new InvalidPack(String.format("Line %d is not positive integer: \"%d\"", index + 1, value));
+    }
+}
@@ -0,0 +1,57 @@
+package src;
+
+/**
+ * Cards of one hand or deck as dealt from a {@link Pack}, read in place from the pack's values.
+ * Cards are dealt one to each player in turn, so the cards of a hand or deck are every n-th value of the pack,
+ * starting at an offset, and a view holds just that offset and stride.
+ */
+public class PackView {
+    private final int[] values;
+    private final int offset;
+    private final int stride;
+    private final int size;
+
+    PackView(int[] values, int offset, int stride, int size){
+        this.values = values;
+        this.offset = offset;
+        this.stride = stride;
+        this.size = size;
+    }
+
+    /**
+     * @return amount of cards in the view
+     */
+    public int size(){
+        return this.size;
+    }
+
+    /**
+     * @param index the card's position in the hand or deck, from the top
+     * @return the card's value
+     */
+    public int valueAt(int index){
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Card "+index+" of "+this.size);
+        }
+        return this.values[this.offset + index*this.stride];
+    }
+
+    /**
+     * @param index the card's position in the hand or deck, from the top
+     * @return the card, shared through {@link Card#valueOf(int)}
+     */
+    public Card cardAt(int index){
+        return Card.valueOf(valueAt(index));
+    }
+
+    /**
+     * @return the cards in order, a new array
+     */
+    public Card[] toCards(){
+        Card[] cards = new Card[this.size];
+        for (int i = 0, position = this.offset; i < cards.length; i++, position += this.stride) {
+            cards[i] = Card.valueOf(this.values[position]);
+        }
+        return cards;
+    }
+}
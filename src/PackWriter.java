@@ -0,0 +1,74 @@
+package src;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes pack values as text, one per line, through a buffered channel.
+ * Values are encoded to ASCII digits directly in the buffer, so writing makes no strings.
+ */
+class PackWriter implements Closeable {
+    private static final int BUFFER_BYTES = 256 * 1024;
+    /** Longest line, a sign, ten digits and the line feed */
+    private static final int MAX_LINE_BYTES = 12;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+
+    /**
+     * @param filename file to write, replacing any existing file
+     * @throws IOException error when creating the file
+     */
+    PackWriter(String filename) throws IOException{
+        this.channel = FileChannel.open(
+            Paths.get(filename), StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING
+        );
+    }
+
+    /**
+     * @param value value to write as a line
+     * @throws IOException error when writing
+     */
+    void write(int value) throws IOException{
+        if (this.buffer.remaining() < MAX_LINE_BYTES) {
+            flush();
+        }
+        long remaining = value;
+        if (remaining < 0) {
+            this.buffer.put((byte) '-');
+            remaining = -remaining;
+        }
+        int digits = 1;
+        for (long bound = 10; bound <= remaining; bound *= 10) {
+            digits++;
+        }
+        int end = this.buffer.position() + digits;
+        for (int i = end - 1; i >= this.buffer.position(); i--) {
+            this.buffer.put(i, (byte) ('0' + remaining % 10));
+            remaining /= 10;
+        }
+        this.buffer.position(end);
+        this.buffer.put((byte) '\n');
+    }
+
+    private void flush() throws IOException{
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException{
+        try {
+            flush();
+        } finally {
+            this.channel.close();
+        }
+    }
+}
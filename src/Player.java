@@ -1,21 +1,19 @@
 package src;
 
-import java.util.logging.FileHandler;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import java.util.Arrays;
-import java.util.LinkedList;
-import java.util.NoSuchElementException;
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 
-import src.exceptions.AlreadyWon;
-import src.utils.CustomFormatter;
+import src.logging.FileHandlerSink;
+import src.logging.LogSink;
+import src.logging.PlayerLog;
+import src.metrics.PlayerMetrics;
+import src.utils.IntQueue;
+import src.utils.ValueHistogram;
 
 public class Player implements Runnable {
-    private final Logger logger;
+    private PlayerLog log = PlayerLog.DISABLED;
+    private PlayerMetrics metrics = PlayerMetrics.DISABLED;
+    private SnapshotCoordinator snapshots = null;
+    private final LogSink sink;
     private final int playerNumber;
 
     private final GameState state;
@@ -24,21 +22,32 @@ public class Player implements Runnable {
     private final Deck rightDeck;
 
     private final Card[] hand;
-    private final LinkedList<Integer> toDiscard = new LinkedList<>();  // Stores indicies of cards to discard
+    private final IntQueue toDiscard;  // Stores indicies of cards to discard
     private int preferredCardAmount = 0;
+    private final ValueHistogram handValues;  // Counts of each value in hand, for constant time win checks
+    private long turns = 0;
 
     public Player(int playerNumber, Deck leftDeck, Deck rightDeck, Card[] initialHand, GameState state) {
+        this(playerNumber, leftDeck, rightDeck, initialHand, state, new FileHandlerSink("./logs"));
+    }
+
+    /**
+     * @param sink where to write this player's log and left deck, {@link LogSink#DISABLED} to write nothing
+     */
+    public Player(int playerNumber, Deck leftDeck, Deck rightDeck, Card[] initialHand, GameState state, LogSink sink) {
         this.playerNumber = playerNumber;
+        this.sink = sink;
         this.leftDeck = leftDeck;
         this.rightDeck = rightDeck;
         this.state = state;
 
         this.hand = initialHand;
+        this.toDiscard = new IntQueue(initialHand.length + 1);
+        this.handValues = new ValueHistogram(initialHand.length);
         for (int i = 0; i < initialHand.length; i++) {
             checkPreferred(initialHand[i], i);
+            this.handValues.add(initialHand[i].value);
         }
-
-        this.logger = Logger.getLogger("Player"+this.playerNumber);
     }
 
     @Override
@@ -55,24 +64,26 @@ public class Player implements Runnable {
     }
 
     /**
-     * Sets up logger format and creates directory and files ready for logging
-     * @param logger the logger to add formatting to
-     * @return The logger
+     * @param metrics where to record turns and waits, {@link PlayerMetrics#DISABLED} to record nothing.
+     *     Must be set before the player starts.
      */
-    private Logger loggerSetup(){
-        String outputFilePath = "./logs/Player"+this.playerNumber+"_output.txt";
-        this.logger.setUseParentHandlers(false);  // Disable logger output to console
-        try {
-            Files.createDirectories(Paths.get("./logs"));
+    public void setMetrics(PlayerMetrics metrics){
+        this.metrics = metrics;
+    }
 
-            File file = new File(outputFilePath);
-            file.createNewFile();
+    /**
+     * @param snapshots coordinator of the game's snapshots, null when the game takes none.
+     *     Must be set before the player starts.
+     */
+    void setSnapshots(SnapshotCoordinator snapshots){
+        this.snapshots = snapshots;
+    }
 
-            FileHandler fh = new FileHandler(outputFilePath);
-            fh.setFormatter(new CustomFormatter());
-            this.logger.addHandler(fh);
-          } catch (IOException ignored) {}
-        return this.logger;
+    /**
+     * @return amount of turns taken so far
+     */
+    public long getTurns(){
+        return this.turns;
     }
 
     /**
@@ -97,15 +108,18 @@ public class Player implements Runnable {
      * @return the drawn card
      */
     private Card discardAndDraw(int i){
-        Card drawnCard;
-        try {
-            drawnCard = leftDeck.drawCard();
-        } catch (NoSuchElementException e) {
+        Card drawnCard = leftDeck.pollCard();
+        if (drawnCard == null) {
             return null;
         }
+        if (this.snapshots != null) {
+            this.snapshots.drawn(this.playerNumber - 1, drawnCard.value);
+        }
 
         this.rightDeck.addCard(this.hand[i]);
+        this.handValues.remove(this.hand[i].value);
         this.hand[i] = drawnCard;
+        this.handValues.add(drawnCard.value);
         checkPreferred(drawnCard, i);
         
         return drawnCard;
@@ -115,87 +129,141 @@ public class Player implements Runnable {
      * Declare and broadcast win to other players
      */
     private void declareWin(){
-        try{this.state.declareWin(this);} catch (AlreadyWon ignored) {};
-        this.logger.log(Level.INFO,
-            "player "+this.playerNumber+" wins"
-        );
+        this.state.declareWin(this);
+        this.log.win();
     }
 
+    /**
+     * A hand wins when every card has the same value, with a preferred card in hand that means every card is preferred
+     * @return if this player holds a winning hand
+     */
     public boolean isWinningHand(){
-        if (this.preferredCardAmount == 0) {
-            for (int i = 1; i < this.hand.length; i++) {
-                if (this.hand[i-1].value != this.hand[i].value) {
-                    return false;
-                }
-            }
+        return this.handValues.distinct() <= 1;
+    }
+
+    /**
+     * Declares a win if this player holds a winning hand
+     * @return if this player holds a winning hand
+     */
+    public boolean checkWin(){
+        if (isWinningHand()) {
+            declareWin();
+            System.out.println("player "+this.playerNumber+" wins");
             return true;
         }
+        return false;
+    }
 
-        return this.preferredCardAmount == this.hand.length;
+    /**
+     * Discards a card to rightDeck and draws from leftDeck, then logs it.
+     * Does not wait, the turn is skipped if leftDeck is empty.
+     * @return if a turn was taken
+     */
+    public boolean takeTurn(){
+        if (this.snapshots != null) {
+            this.snapshots.turnBoundary(this.playerNumber - 1);
+        }
+        GameEvents.Turn event = new GameEvents.Turn();
+        event.begin();
+        int discardIndex = this.toDiscard.peekFirst();
+        Card discardedCard = this.hand[discardIndex];
+        Card drawnCard = discardAndDraw(discardIndex);
+        if (drawnCard == null) {
+            return false;
+        }
+        this.toDiscard.removeFirst();
+        this.turns++;
+        this.metrics.turn();
+        if (event.shouldCommit()) {
+            event.player = this.playerNumber;
+            event.discarded = discardedCard.value;
+            event.discardDeck = this.rightDeck.getDeckNumber();
+            event.drawn = drawnCard.value;
+            event.drawDeck = this.leftDeck.getDeckNumber();
+            event.commit();
+        }
+
+        // Messages are only built by logs that write them
+        this.log.discard(discardedCard, this.rightDeck.getDeckNumber());
+        this.log.draw(drawnCard, this.leftDeck.getDeckNumber());
+        this.log.hand(this.hand);
+        return true;
+    }
+
+    /**
+     * Adds the order this player discards in and its left deck to an encoding of the game's state,
+     * the hand is encoded separately. Only exact while no cards move.
+     * @param encoding the state being encoded
+     */
+    void encodeState(CycleDetector encoding){
+        int[] discardOrder = this.toDiscard.toArray();
+        encoding.add(discardOrder.length);
+        for (int index : discardOrder) {
+            encoding.add(index);
+        }
+        Card[] deck = this.leftDeck.toArray();
+        encoding.add(deck.length);
+        for (Card card : deck) {
+            encoding.add(card.value);
+        }
     }
 
     /**
      * Game loop, performs actions and logs them
      */
     public void gameLoop(){
-        while (!this.state.isWon()) {
-            if (isWinningHand()) {
-                declareWin();
-                System.out.println("player "+this.playerNumber+" wins");
+        while (!this.state.isOver()) {
+            if (checkWin()) {
                 return;
             }
 
-            while (this.leftDeck.waitForCard(500)) {
-                if (this.state.isWon()) {
-                    return;
+            // Only a deck that is empty now counts as a wait
+            if (this.leftDeck.isEmpty()) {
+                long waitStarted = this.metrics.waitStarted();
+                while (this.leftDeck.waitForCard(500)) {
+                    if (this.state.isOver()) {
+                        this.metrics.waitEnded(waitStarted);
+                        return;
+                    }
+                    if (this.snapshots != null) {
+                        this.snapshots.turnBoundary(this.playerNumber - 1);
+                    }
                 }
+                this.metrics.waitEnded(waitStarted);
             }
 
-            int discardIndex = this.toDiscard.removeFirst();
-            Card discardedCard = this.hand[discardIndex];
-            Card drawnCard = discardAndDraw(discardIndex);
-
-            this.logger.log(Level.INFO, 
-                "Player " + this.playerNumber + 
-                " discards a " + discardedCard + 
-                " to deck " + this.rightDeck.getDeckNumber()
-            );
-
-            this.logger.log(Level.INFO,
-                "Player " + this.playerNumber +
-                " draws a " + drawnCard + 
-                " from deck " + this.leftDeck.getDeckNumber()
-            );
-
-            this.logger.log(Level.INFO,
-                this.toString()
-            );
+            takeTurn();
         }
     }
 
+    /**
+     * Sets up logging and logs the initial hand, called before the first turn
+     */
+    public void begin(){
+        this.log = this.sink.open(this.playerNumber);
+        this.log.initialHand(this.hand);
+    }
+
+    /**
+     * Logs the result and final hand and writes leftDeck to file, called once the game is over
+     */
+    public void finish(){
+        Player winner = this.state.wonBy();
+        if (winner != this) {
+            this.log.informed(winner == null ? 0 : winner.playerNumber);
+        }
+        this.log.exit(this.hand);
+        this.log.close();
+        this.sink.writeDeck(this.leftDeck);
+    }
+
     /**
      * Starts the player as a thread
      */
     @Override
     public void run(){
-        loggerSetup();
-        this.logger.log(Level.INFO, 
-            "Player "+this.playerNumber+" initial hand "+Arrays.toString(this.hand)
-        );
+        begin();
         gameLoop();
-        if (state.wonBy() != this) {
-            this.logger.log(Level.INFO, 
-                "player "+state.wonBy().playerNumber+
-                " has informed player "+this.playerNumber+
-                " that player "+state.wonBy().playerNumber+" has won"
-            );
-        }
-        this.logger.log(Level.INFO, 
-            "player "+this.playerNumber+" exits\n"+
-            "player "+this.playerNumber+" final hand: "+Arrays.toString(this.hand)
-        );
-        try{
-            this.leftDeck.writeToFile("./logs/deck"+this.leftDeck.getDeckNumber()+"_output.txt");
-        } catch (IOException ignored) {}
-    }
-}
\ No newline at end of file
+        finish();
+    }
+}
@@ -0,0 +1,277 @@
+package src;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Deck backed by a bounded single-producer/single-consumer array ring.
+ * Only the player on the deck's left may add cards and only the player on its right may draw them,
+ * which is how {@link CardGame} wires decks. Adding and drawing take no locks and allocate nothing.
+ */
+public class RingDeck extends RingDeckFields {
+    /**
+     * @param deckNumber the deck's number
+     * @param cards starting cards, may be null
+     * @param capacity maximum amount of cards the deck can hold, rounded up to a power of two
+     */
+    public RingDeck(int deckNumber, Card[] cards, int capacity){
+        this(deckNumber, cards, capacity, WaitStrategy.BLOCKING);
+    }
+
+    /**
+     * @param deckNumber the deck's number
+     * @param cards starting cards, may be null
+     * @param capacity maximum amount of cards the deck can hold, rounded up to a power of two
+     * @param waitStrategy how the consumer waits for cards
+     */
+    public RingDeck(int deckNumber, Card[] cards, int capacity, WaitStrategy waitStrategy){
+        super(deckNumber, capacity, waitStrategy);
+        if (cards != null) {
+            if (cards.length > this.slots.length) {
+                throw new IllegalArgumentException(String.format(
+                    "Deck capacity (%d) is less than starting card amount (%d)",
+                    this.slots.length, cards.length
+                ));
+            }
+            addAll(cards);
+        }
+    }
+
+    @Override
+    public String toString(){
+        StringBuilder builder = new StringBuilder("[");
+        long head = (long) HEAD.getVolatile(this);
+        long tail = (long) TAIL.getVolatile(this);
+        for (long i = head; i < tail; i++) {
+            if (i != head) {
+                builder.append(", ");
+            }
+            builder.append(this.slots[(int) i & this.mask]);
+        }
+        return builder.append("]").toString();
+    }
+
+    /**
+     * May be called from any thread. A copy made while the consumer draws is retried, since the consumer
+     * clears the slots it draws from and the producer may then reuse them.
+     */
+    @Override
+    public Card[] toArray(){
+        while (true) {
+            long head = (long) HEAD.getVolatile(this);
+            long tail = (long) TAIL.getVolatile(this);
+            Card[] cards = new Card[(int) Math.max(0, tail - head)];
+            boolean cleared = false;
+            for (int i = 0; i < cards.length && !cleared; i++) {
+                cards[i] = this.slots[(int) (head + i) & this.mask];
+                cleared = cards[i] == null;
+            }
+            if (!cleared && (long) HEAD.getVolatile(this) == head) {
+                return cards;
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public boolean isEmpty(){
+        return (long) HEAD.getVolatile(this) >= (long) TAIL.getVolatile(this);
+    }
+
+    @Override
+    public int size(){
+        long head = (long) HEAD.getVolatile(this);
+        return (int) Math.max(0, (long) TAIL.getVolatile(this) - head);
+    }
+
+    /**
+     * Adds a card to the bottom of the deck, must only be called by the deck's producer
+     * @param card the card to add
+     * @throws IllegalStateException the deck is full
+     */
+    @Override
+    public void addCard(Card card){
+        Objects.requireNonNull(card);
+        long tail = this.tail;
+        if (tail - this.headCache >= this.slots.length) {
+            this.headCache = (long) HEAD.getAcquire(this);
+            if (tail - this.headCache >= this.slots.length) {
+                throw new IllegalStateException("Deck "+getDeckNumber()+" is full");
+            }
+        }
+        this.slots[(int) tail & this.mask] = card;
+        // volatile store so it is ordered before the wait strategy reads the waiter
+        TAIL.setVolatile(this, tail + 1);
+        getWaitStrategy().signal(this);
+    }
+
+    /**
+     * Adds cards to the bottom of the deck in order, must only be called by the deck's producer.
+     * The batch is published by a single store and the consumer is woken once.
+     * Nothing is added if any card is null or the batch does not fit.
+     * @param cards the cards to add
+     * @throws IllegalStateException the deck has no room for every card
+     */
+    @Override
+    public void addAll(Card[] cards){
+        for (Card card : cards) {
+            Objects.requireNonNull(card);
+        }
+        if (cards.length == 0) {
+            return;
+        }
+        long tail = this.tail;
+        if (tail + cards.length - this.headCache > this.slots.length) {
+            this.headCache = (long) HEAD.getAcquire(this);
+            if (tail + cards.length - this.headCache > this.slots.length) {
+                throw new IllegalStateException("Deck "+getDeckNumber()+" is full");
+            }
+        }
+        for (int i = 0; i < cards.length; i++) {
+            this.slots[(int) (tail + i) & this.mask] = cards[i];
+        }
+        TAIL.setVolatile(this, tail + cards.length);
+        getWaitStrategy().signal(this);
+    }
+
+    /**
+     * Removes cards from the top of the deck in order, must only be called by the deck's consumer
+     * @param cards array to fill from its start
+     * @return amount of cards removed
+     */
+    @Override
+    public int drainTo(Card[] cards){
+        long head = this.head;
+        if (head + cards.length > this.tailCache) {
+            this.tailCache = (long) TAIL.getAcquire(this);
+        }
+        int amount = (int) Math.min(cards.length, this.tailCache - head);
+        for (int i = 0; i < amount; i++) {
+            int index = (int) (head + i) & this.mask;
+            cards[i] = this.slots[index];
+            this.slots[index] = null;
+        }
+        if (amount > 0) {
+            HEAD.setRelease(this, head + amount);
+        }
+        return amount;
+    }
+
+    /**
+     * Removes a card from the top of the deck, must only be called by the deck's consumer
+     * @return the removed card
+     */
+    @Override
+    public Card drawCard() throws NoSuchElementException{
+        Card card = pollCard();
+        if (card == null) {
+            throw new NoSuchElementException();
+        }
+        return card;
+    }
+
+    /**
+     * Removes a card from the top of the deck, must only be called by the deck's consumer
+     * @return the removed card, null if the deck is empty
+     */
+    @Override
+    public Card pollCard(){
+        long head = this.head;
+        if (head >= this.tailCache) {
+            this.tailCache = (long) TAIL.getAcquire(this);
+            if (head >= this.tailCache) {
+                return null;
+            }
+        }
+        int index = (int) head & this.mask;
+        Card card = this.slots[index];
+        this.slots[index] = null;
+        HEAD.setRelease(this, head + 1);
+        return card;
+    }
+}
+
+/**
+ * The fields below are split over a class hierarchy because the JVM does not reorder fields across
+ * classes, so the padding keeps the producer's and consumer's indices on separate cache lines
+ */
+abstract class RingDeckPad0 extends Deck {
+    long p00, p01, p02, p03, p04, p05, p06, p07;
+    long p08, p09, p10, p11, p12, p13, p14;
+
+    RingDeckPad0(int deckNumber, WaitStrategy waitStrategy){
+        super(deckNumber, waitStrategy);
+    }
+}
+
+abstract class RingDeckProducerFields extends RingDeckPad0 {
+    /** Next position to write, only written by the producer */
+    protected long tail;
+    /** Producer's last read of head */
+    protected long headCache;
+
+    RingDeckProducerFields(int deckNumber, WaitStrategy waitStrategy){
+        super(deckNumber, waitStrategy);
+    }
+}
+
+abstract class RingDeckPad1 extends RingDeckProducerFields {
+    long p10_, p11_, p12_, p13_, p14_, p15_, p16_, p17_;
+    long p18_, p19_, p1a_, p1b_, p1c_, p1d_, p1e_;
+
+    RingDeckPad1(int deckNumber, WaitStrategy waitStrategy){
+        super(deckNumber, waitStrategy);
+    }
+}
+
+abstract class RingDeckConsumerFields extends RingDeckPad1 {
+    /** Next position to read, only written by the consumer */
+    protected long head;
+    /** Consumer's last read of tail */
+    protected long tailCache;
+
+    RingDeckConsumerFields(int deckNumber, WaitStrategy waitStrategy){
+        super(deckNumber, waitStrategy);
+    }
+}
+
+abstract class RingDeckPad2 extends RingDeckConsumerFields {
+    long p20, p21, p22, p23, p24, p25, p26, p27;
+    long p28, p29, p2a, p2b, p2c, p2d, p2e;
+
+    RingDeckPad2(int deckNumber, WaitStrategy waitStrategy){
+        super(deckNumber, waitStrategy);
+    }
+}
+
+abstract class RingDeckFields extends RingDeckPad2 {
+    static final VarHandle HEAD;
+    static final VarHandle TAIL;
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            HEAD = lookup.findVarHandle(RingDeckConsumerFields.class, "head", long.class);
+            TAIL = lookup.findVarHandle(RingDeckProducerFields.class, "tail", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    protected final Card[] slots;
+    protected final int mask;
+
+    RingDeckFields(int deckNumber, int capacity, WaitStrategy waitStrategy){
+        super(deckNumber, waitStrategy);
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Deck capacity must be larger than 0");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.slots = new Card[size];
+        this.mask = size - 1;
+    }
+}
@@ -0,0 +1,113 @@
+package src;
+
+import java.util.SplittableRandom;
+
+/**
+ * Runs a game on the calling thread by stepping each player's turn from a scheduler,
+ * so a game's outcome only depends on its pack, turn order and seed.
+ * Players log and write the same files as when running on their own threads.
+ */
+public class SimulationEngine {
+    private final Player[] players;
+    private final GameState state;
+    private final TurnOrder turnOrder;
+    private final SplittableRandom random;
+    private final CycleDetector cycles;  // null when not detecting
+    private int next = 0;
+
+    /**
+     * @param players players of the game, in seating order
+     * @param state the game's state
+     * @param turnOrder order to schedule players in
+     * @param seed seed for {@link TurnOrder#SEEDED_RANDOM}
+     */
+    public SimulationEngine(Player[] players, GameState state, TurnOrder turnOrder, long seed){
+        this(players, state, turnOrder, seed, false);
+    }
+
+    /**
+     * @param players players of the game, in seating order
+     * @param state the game's state
+     * @param turnOrder order to schedule players in
+     * @param seed seed for {@link TurnOrder#SEEDED_RANDOM}
+     * @param detectCycles if a {@link TurnOrder#ROUND_ROBIN} game that starts a round in the same state as an
+     *     earlier round is ended without a winner, see {@link CycleDetector}. Random turn orders are not checked.
+     */
+    public SimulationEngine(Player[] players, GameState state, TurnOrder turnOrder, long seed, boolean detectCycles){
+        this.players = players;
+        this.state = state;
+        this.turnOrder = turnOrder;
+        this.random = new SplittableRandom(seed);
+        this.cycles = detectCycles && turnOrder == TurnOrder.ROUND_ROBIN ? new CycleDetector(players) : null;
+    }
+
+    /**
+     * Plays the game until a player wins or it is ended without a winner
+     * @return the winner, null if nobody won
+     */
+    public Player run(){
+        begin();
+        while (!step()) {}
+        finish();
+        return this.state.wonBy();
+    }
+
+    /**
+     * Sets up every player, called before the first step
+     */
+    public void begin(){
+        for (Player player : this.players) {
+            player.begin();
+        }
+    }
+
+    /**
+     * Lets the next scheduled player declare a win or take a turn.
+     * A player whose left deck is empty is skipped.
+     * @return if the game is over, won or ended without a winner
+     */
+    public boolean step(){
+        if (this.state.isOver()) {
+            return true;
+        }
+        Player player = this.players[nextPlayer()];
+        if (player.checkWin()) {
+            return true;
+        }
+        player.takeTurn();
+        if (this.cycles != null && this.next == 0 && this.cycles.repeated()) {
+            this.state.endWithoutWinner();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Lets every player log the result and write its output, called once the game is over
+     */
+    public void finish(){
+        for (Player player : this.players) {
+            player.finish();
+        }
+    }
+
+    /**
+     * @return total turns taken by every player
+     */
+    public long getTurns(){
+        long turns = 0;
+        for (Player player : this.players) {
+            turns += player.getTurns();
+        }
+        return turns;
+    }
+
+    private int nextPlayer(){
+        if (this.turnOrder == TurnOrder.SEEDED_RANDOM) {
+            return this.random.nextInt(this.players.length);
+        }
+        int player = this.next;
+        this.next = (player + 1 == this.players.length) ? 0 : player + 1;
+        return player;
+    }
+}
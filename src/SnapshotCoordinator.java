@@ -0,0 +1,210 @@
+package src;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes snapshots of a running game that are consistent, as if every card had stopped at once,
+ * without pausing the game (Chandy-Lamport snapshots).
+ * <p>
+ * Each deck is a first in first out channel from the player on its left to the player on its right,
+ * and a player's turn count says how far through both of its decks it is: a player that has taken t turns has
+ * drawn the first t cards of its left deck and added t cards to its right deck after the ones dealt to it.
+ * A request raises the epoch, and each player records its hand and turn count, its cut, at its next turn boundary.
+ * The producer's cut marks a position in its right deck instead of a marker card. A consumer about to keep a card
+ * from past that position records its own cut first, so no card is counted twice. The deck's part of the
+ * snapshot is every card between the consumer's cut and the producer's, logged by the consumer as it draws them
+ * or read from the front of its deck, which only it draws from, once both cuts are known.
+ */
+final class SnapshotCoordinator {
+    /** How often a waiting request checks whether the game ended before every player recorded */
+    private static final long POLL_MILLIS = 10;
+
+    private final Player[] players;
+    private final Deck[] decks;  // decks[i] is the left deck of players[i]
+    private final long[] dealt;  // cards each deck was dealt, its first added card's position
+    private final Cut[] cuts;
+    private final GameState state;
+    private final CountDownLatch gameFinished;
+
+    private volatile long epoch = 0;
+    // Of the current epoch, written before the epoch is raised
+    private AtomicInteger pending;
+    private CountDownLatch done;
+    private volatile GameSnapshot taken;
+
+    /**
+     * One player's part of a snapshot, only written by that player, or by the requester once the game is over
+     */
+    private static final class Cut {
+        volatile long epoch = 0;  // epoch recorded, written last
+        int[] hand;
+        long drawn;  // cards drawn from the left deck
+        long added;  // position after the last card added to the right deck
+        volatile long channelEpoch = 0;  // epoch the left deck was recorded for
+        int[] channel = new int[8];
+        int channelLength;
+    }
+
+    /**
+     * @param players players of the game, in seating order
+     * @param decks decks of the game, deck i is the left deck of player i, not yet drawn from
+     * @param state the game's state
+     * @param gameFinished counted down once by each player that has finished
+     */
+    SnapshotCoordinator(Player[] players, Deck[] decks, GameState state, CountDownLatch gameFinished){
+        this.players = players;
+        this.decks = decks;
+        this.state = state;
+        this.gameFinished = gameFinished;
+        this.dealt = new long[decks.length];
+        this.cuts = new Cut[players.length];
+        for (int i = 0; i < decks.length; i++) {
+            this.dealt[i] = decks[i].size();
+            this.cuts[i] = new Cut();
+        }
+    }
+
+    /**
+     * Takes a snapshot, waiting until every player has recorded its part, one snapshot at a time
+     * @return the snapshot
+     * @throws InterruptedException interrupted while waiting
+     */
+    synchronized GameSnapshot take() throws InterruptedException{
+        CountDownLatch done = new CountDownLatch(1);
+        this.done = done;
+        this.pending = new AtomicInteger(2 * this.players.length);
+        this.taken = null;
+        long epoch = this.epoch + 1;
+        this.epoch = epoch;
+        // Players waiting for a card record without waiting for their timeout
+        for (Deck deck : this.decks) {
+            deck.getWaitStrategy().signal(deck);
+        }
+
+        while (!done.await(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+            if (this.state.isOver() && this.gameFinished.getCount() == 0) {
+                // Nobody moves any more, so the rest is recorded as things are left
+                for (int i = 0; i < this.players.length; i++) {
+                    if (this.cuts[i].epoch != epoch) {
+                        record(i, epoch);
+                    }
+                }
+                for (int i = 0; i < this.players.length; i++) {
+                    closeChannel(i, epoch);
+                }
+            }
+        }
+        return this.taken;
+    }
+
+    /**
+     * Called by a player between turns, records its cut if a snapshot is waiting for it
+     * @param index the player's index
+     */
+    void turnBoundary(int index){
+        long epoch = this.epoch;
+        Cut cut = this.cuts[index];
+        if (cut.channelEpoch == epoch) {
+            return;
+        }
+        if (cut.epoch != epoch) {
+            record(index, epoch);
+        }
+        if (producer(index).epoch == epoch) {
+            closeChannel(index, epoch);
+        }
+    }
+
+    /**
+     * Called by a player that has just drawn a card, before the drawn card or the turn changes anything
+     * @param index the player's index
+     * @param value the drawn card's value
+     */
+    void drawn(int index, int value){
+        long epoch = this.epoch;
+        Cut cut = this.cuts[index];
+        if (cut.channelEpoch == epoch) {
+            return;
+        }
+        long position = this.players[index].getTurns();
+        Cut producer = producer(index);
+        boolean producerRecorded = producer.epoch == epoch;
+        if (cut.epoch != epoch) {
+            // A card added after the producer's cut, so this player's cut comes first
+            if (producerRecorded && position >= producer.added) {
+                record(index, epoch);
+                closeChannel(index, epoch);
+            }
+            return;
+        }
+        if (!producerRecorded || position < producer.added) {
+            if (cut.channelLength == cut.channel.length) {
+                cut.channel = Arrays.copyOf(cut.channel, Math.max(8, cut.channel.length * 2));
+            }
+            cut.channel[cut.channelLength++] = value;
+        }
+        if (producerRecorded) {
+            closeChannel(index, epoch);
+        }
+    }
+
+    private Cut producer(int index){
+        return this.cuts[index == 0 ? this.cuts.length - 1 : index - 1];
+    }
+
+    private void record(int index, long epoch){
+        Player player = this.players[index];
+        Cut cut = this.cuts[index];
+        Card[] hand = player.getHand();
+        cut.hand = new int[hand.length];
+        for (int i = 0; i < hand.length; i++) {
+            cut.hand[i] = hand[i].value;
+        }
+        long turns = player.getTurns();
+        cut.drawn = turns;
+        cut.added = this.dealt[(index + 1) % this.dealt.length] + turns;
+        cut.channelLength = 0;
+        cut.epoch = epoch;
+        countDown();
+    }
+
+    /**
+     * Completes a recorded player's left deck with the cards still waiting in it up to the producer's cut.
+     * Must only be called by the deck's consumer while it is between draws, or once the game is over.
+     */
+    private void closeChannel(int index, long epoch){
+        Cut cut = this.cuts[index];
+        if (cut.channelEpoch == epoch) {
+            return;
+        }
+        long missing = producer(index).added - cut.drawn - cut.channelLength;
+        int[] channel = Arrays.copyOf(cut.channel, cut.channelLength + (int) Math.max(0, missing));
+        if (missing > 0) {
+            Card[] waiting = this.decks[index].toArray();
+            for (int i = 0; i < missing; i++) {
+                channel[cut.channelLength + i] = waiting[i].value;
+            }
+        }
+        cut.channel = channel;
+        cut.channelLength = channel.length;
+        cut.channelEpoch = epoch;
+        countDown();
+    }
+
+    private void countDown(){
+        if (this.pending.decrementAndGet() > 0) {
+            return;
+        }
+        int[][] hands = new int[this.cuts.length][];
+        int[][] decks = new int[this.cuts.length][];
+        for (int i = 0; i < this.cuts.length; i++) {
+            hands[i] = this.cuts[i].hand;
+            decks[i] = Arrays.copyOf(this.cuts[i].channel, this.cuts[i].channelLength);
+        }
+        this.taken = new GameSnapshot(this.epoch, hands, decks);
+        this.done.countDown();
+    }
+}
@@ -0,0 +1,79 @@
+package src;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Ends a threaded game that looks stuck in a loop, the threaded counterpart of the round robin
+ * {@link CycleDetector}. Players run freely so the game's state is sampled at intervals instead of at the start
+ * of each round, and a repeated sample only hints at a loop since threads may take turns in another order next
+ * time. The game is ended without a winner once several samples in a row repeat earlier ones while turns are
+ * still being taken.
+ */
+class StallWatchdog implements Runnable {
+    static final long SAMPLE_MILLIS = 20;
+    /** Samples in a row that must repeat earlier samples */
+    static final int REPEATS = 8;
+
+    private final Player[] players;
+    private final GameState state;
+    private final CycleDetector encoding;
+    private final Set<Long> seen = new HashSet<>();
+
+    /**
+     * @param players players of the game
+     * @param state the game's state, ended if the game looks stuck
+     */
+    StallWatchdog(Player[] players, GameState state){
+        this.players = players;
+        this.state = state;
+        this.encoding = new CycleDetector(players);
+    }
+
+    /**
+     * Samples the game until it is over. A sample that fails ends the game, since a looping game would
+     * otherwise never end.
+     */
+    @Override
+    public void run(){
+        try {
+            sample();
+        } catch (RuntimeException e) {
+            System.err.println("Stall detection failed, ending the game without a winner: "+e);
+            this.state.endWithoutWinner();
+        }
+    }
+
+    private void sample(){
+        long lastTurns = -1;
+        int repeats = 0;
+        while (!this.state.isOver()) {
+            try {
+                Thread.sleep(SAMPLE_MILLIS);
+            } catch (InterruptedException e) {
+                return;
+            }
+            // A game nobody moved in since the last sample is slow rather than looping
+            long turns = turns();
+            if (turns == lastTurns) {
+                continue;
+            }
+            lastTurns = turns;
+
+            if (this.seen.add(this.encoding.fingerprint())) {
+                repeats = 0;
+            } else if (++repeats == REPEATS) {
+                this.state.endWithoutWinner();
+                return;
+            }
+        }
+    }
+
+    private long turns(){
+        long turns = 0;
+        for (Player player : this.players) {
+            turns += player.getTurns();
+        }
+        return turns;
+    }
+}
@@ -0,0 +1,11 @@
+package src;
+
+/**
+ * Order {@link SimulationEngine} schedules players in
+ */
+public enum TurnOrder {
+    /** Player 1, 2, ... n, then back to player 1 */
+    ROUND_ROBIN,
+    /** A uniformly random player each step, reproducible from the game's seed */
+    SEEDED_RANDOM
+}
@@ -0,0 +1,149 @@
+package src;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * How a player waits on an empty deck and how the player adding a card wakes them.
+ * Each deck has a single consumer, which registers itself with {@link Deck#setWaiter(Thread)} while waiting.
+ * Waiting also ends once the deck is released, which {@link CardGame} does to every deck when the game is won.
+ * Chosen per game through {@link GameConfig#setWaitStrategy(WaitStrategy)}.
+ */
+public interface WaitStrategy {
+    /** Spins on the deck, lowest latency but keeps a core busy per waiting player */
+    WaitStrategy BUSY_SPIN = new BusySpin();
+    /** Spins briefly then yields the processor between checks */
+    WaitStrategy SPIN_YIELD = new SpinYield(100);
+    /** Parks the waiting thread, the producer unparks it directly */
+    WaitStrategy PARK = new Park();
+    /** Waits on the deck's lock condition, the producer signals it */
+    WaitStrategy BLOCKING = new Blocking();
+
+    /**
+     * Waits until the deck is not empty or released, the waiter is woken or the timeout passes.
+     * May return early, callers must check the deck again.
+     * @param deck the deck to wait on
+     * @param timeoutNanos maximum time to wait for
+     */
+    void await(Deck deck, long timeoutNanos);
+
+    /**
+     * Wakes the deck's consumer if it is waiting, called after a card is added and when the deck is released
+     * @param deck the deck a card was added to or that was released
+     */
+    void signal(Deck deck);
+
+    class BusySpin implements WaitStrategy {
+        @Override
+        public void await(Deck deck, long timeoutNanos){
+            long deadline = System.nanoTime() + timeoutNanos;
+            while (deck.mustWait() && System.nanoTime() - deadline < 0) {
+                Thread.onSpinWait();
+            }
+        }
+
+        @Override
+        public void signal(Deck deck){}
+
+        @Override
+        public String toString(){
+            return "BUSY_SPIN";
+        }
+    }
+
+    class SpinYield implements WaitStrategy {
+        private final int spins;
+
+        /**
+         * @param spins amount of checks before yielding between checks
+         */
+        public SpinYield(int spins){
+            this.spins = spins;
+        }
+
+        @Override
+        public void await(Deck deck, long timeoutNanos){
+            long deadline = System.nanoTime() + timeoutNanos;
+            int count = 0;
+            while (deck.mustWait() && System.nanoTime() - deadline < 0) {
+                if (count < this.spins) {
+                    count++;
+                    Thread.onSpinWait();
+                } else {
+                    Thread.yield();
+                }
+            }
+        }
+
+        @Override
+        public void signal(Deck deck){}
+
+        @Override
+        public String toString(){
+            return "SPIN_YIELD";
+        }
+    }
+
+    class Park implements WaitStrategy {
+        @Override
+        public void await(Deck deck, long timeoutNanos){
+            deck.setWaiter(Thread.currentThread());
+            try {
+                if (deck.mustWait()) {
+                    LockSupport.parkNanos(deck, timeoutNanos);
+                }
+            } finally {
+                deck.setWaiter(null);
+            }
+        }
+
+        @Override
+        public void signal(Deck deck){
+            Thread waiter = deck.getWaiter();
+            if (waiter != null) {
+                LockSupport.unpark(waiter);
+            }
+        }
+
+        @Override
+        public String toString(){
+            return "PARK";
+        }
+    }
+
+    class Blocking implements WaitStrategy {
+        @Override
+        public void await(Deck deck, long timeoutNanos){
+            ReentrantLock lock = deck.getLock();
+            lock.lock();
+            try {
+                deck.setWaiter(Thread.currentThread());
+                if (deck.mustWait()) {
+                    deck.getNotEmpty().awaitNanos(timeoutNanos);
+                }
+            } catch (InterruptedException ignored) {
+            } finally {
+                deck.setWaiter(null);
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signal(Deck deck){
+            if (deck.getWaiter() != null) {
+                ReentrantLock lock = deck.getLock();
+                lock.lock();
+                try {
+                    deck.getNotEmpty().signalAll();
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+
+        @Override
+        public String toString(){
+            return "BLOCKING";
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package src.exceptions;
+
+/**
+ * Thrown when a game journal is not in the expected format
+ */
+public class InvalidJournal extends Exception{
+    public InvalidJournal(String message) {
+        super(message);
+    }
+}
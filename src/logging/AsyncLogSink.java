@@ -0,0 +1,331 @@
+package src.logging;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import src.Card;
+import src.Deck;
+
+/**
+ * Players hand their events to a queue and a few writer threads batch them into per-player file buffers,
+ * which are written through NIO channels when they fill up or the player exits.
+ * Output is byte-identical to {@link FileHandlerSink}.
+ * Each player's events go to the same writer so their order is kept.
+ * With deferred formatting players only copy the event's values and the writer builds the text.
+ */
+public class AsyncLogSink implements LogSink {
+    private static final int MAX_BATCH = 1024;
+    /** Players block once this many events wait for one writer, so logs cannot outgrow the heap */
+    private static final int QUEUE_CAPACITY = 64 * 1024;
+
+    private static final byte TEXT = 0;
+    private static final byte INITIAL_HAND = 1;
+    private static final byte DISCARD = 2;
+    private static final byte DRAW = 3;
+    private static final byte HAND = 4;
+    private static final byte WIN = 5;
+    private static final byte INFORMED = 6;
+    private static final byte EXIT = 7;
+    private static final byte CLOSE_PLAYER = 8;
+    private static final byte DECK = 9;
+    private static final byte STOP = 10;
+
+    private final Path outputDir;
+    private final boolean formatInWriter;
+    private final Writer[] writers;
+
+    /**
+     * Starts the writer threads
+     * @param outputDir directory to write to
+     * @param writerThreads amount of writer threads
+     * @param formatInWriter if writer threads format messages instead of players
+     */
+    public AsyncLogSink(String outputDir, int writerThreads, boolean formatInWriter){
+        this.outputDir = Paths.get(outputDir);
+        this.formatInWriter = formatInWriter;
+        this.writers = new Writer[Math.max(1, writerThreads)];
+        for (int i = 0; i < this.writers.length; i++) {
+            this.writers[i] = new Writer();
+            this.writers[i].setName("log-writer-"+i);
+            this.writers[i].setDaemon(true);
+            this.writers[i].start();
+        }
+    }
+
+    private Writer writerFor(int player){
+        return this.writers[player % this.writers.length];
+    }
+
+    @Override
+    public PlayerLog open(int player){
+        return new QueuedLog(player, writerFor(player));
+    }
+
+    @Override
+    public void writeDeck(Deck deck){
+        writerFor(deck.getDeckNumber()).put(
+            new Event(DECK, deck.getDeckNumber(), 0, 0, null, deck.toString())
+        );
+    }
+
+    /**
+     * Waits for every queued event to be written
+     */
+    @Override
+    public void close(){
+        for (Writer writer : this.writers) {
+            writer.put(new Event(STOP, 0, 0, 0, null, null));
+        }
+        for (Writer writer : this.writers) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static int[] values(Card[] hand){
+        int[] values = new int[hand.length];
+        for (int i = 0; i < hand.length; i++) {
+            values[i] = hand[i].value;
+        }
+        return values;
+    }
+
+    private static final class Event {
+        final byte type;
+        final int player;
+        final int value;
+        final int deckNumber;
+        final int[] hand;
+        final String text;
+
+        Event(byte type, int player, int value, int deckNumber, int[] hand, String text){
+            this.type = type;
+            this.player = player;
+            this.value = value;
+            this.deckNumber = deckNumber;
+            this.hand = hand;
+            this.text = text;
+        }
+    }
+
+    /**
+     * Player side, runs on the player's thread
+     */
+    private final class QueuedLog implements PlayerLog {
+        private final int player;
+        private final Writer writer;
+        private final StringBuilder builder = new StringBuilder();
+
+        QueuedLog(int player, Writer writer){
+            this.player = player;
+            this.writer = writer;
+        }
+
+        private StringBuilder builder(){
+            this.builder.setLength(0);
+            return this.builder;
+        }
+
+        private void text(StringBuilder message){
+            this.writer.put(new Event(TEXT, this.player, 0, 0, null, message.toString()));
+        }
+
+        private void event(byte type, int value, int deckNumber, int[] hand){
+            this.writer.put(new Event(type, this.player, value, deckNumber, hand, null));
+        }
+
+        @Override
+        public boolean isEnabled(){
+            return true;
+        }
+
+        @Override
+        public void initialHand(Card[] hand){
+            if (formatInWriter) {
+                event(INITIAL_HAND, 0, 0, values(hand));
+            } else {
+                text(LogMessages.initialHand(builder(), this.player, hand));
+            }
+        }
+
+        @Override
+        public void discard(Card card, int deckNumber){
+            if (formatInWriter) {
+                event(DISCARD, card.value, deckNumber, null);
+            } else {
+                text(LogMessages.discard(builder(), this.player, card.value, deckNumber));
+            }
+        }
+
+        @Override
+        public void draw(Card card, int deckNumber){
+            if (formatInWriter) {
+                event(DRAW, card.value, deckNumber, null);
+            } else {
+                text(LogMessages.draw(builder(), this.player, card.value, deckNumber));
+            }
+        }
+
+        @Override
+        public void hand(Card[] hand){
+            if (formatInWriter) {
+                event(HAND, 0, 0, values(hand));
+            } else {
+                text(LogMessages.currentHand(builder(), this.player, hand));
+            }
+        }
+
+        @Override
+        public void win(){
+            if (formatInWriter) {
+                event(WIN, 0, 0, null);
+            } else {
+                text(LogMessages.win(builder(), this.player));
+            }
+        }
+
+        @Override
+        public void informed(int winner){
+            if (formatInWriter) {
+                event(INFORMED, winner, 0, null);
+            } else {
+                text(LogMessages.informed(builder(), this.player, winner));
+            }
+        }
+
+        @Override
+        public void exit(Card[] hand){
+            if (formatInWriter) {
+                event(EXIT, 0, 0, values(hand));
+            } else {
+                text(LogMessages.exit(builder(), this.player, hand));
+            }
+        }
+
+        @Override
+        public void close(){
+            event(CLOSE_PLAYER, 0, 0, null);
+        }
+    }
+
+    private final class Writer extends Thread {
+        private final LinkedBlockingQueue<Event> queue = new LinkedBlockingQueue<>(QUEUE_CAPACITY);
+        private final Map<Integer, BufferedLogFile> files = new HashMap<>();
+        private final StringBuilder builder = new StringBuilder();
+        private boolean directoryCreated = false;
+
+        /**
+         * Queues an event, waiting while the queue is full. Interrupts are kept for the caller
+         * since dropping an event would leave a gap in the log.
+         */
+        void put(Event event){
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    this.queue.put(event);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void run(){
+            List<Event> batch = new ArrayList<>(MAX_BATCH);
+            boolean running = true;
+            while (running) {
+                try {
+                    batch.add(this.queue.take());
+                } catch (InterruptedException e) {
+                    break;
+                }
+                this.queue.drainTo(batch, MAX_BATCH - 1);
+                for (Event event : batch) {
+                    if (event.type == STOP) {
+                        running = false;
+                        break;
+                    }
+                    try {
+                        write(event);
+                    } catch (IOException ignored) {}
+                }
+                batch.clear();
+            }
+            for (BufferedLogFile file : this.files.values()) {
+                try {
+                    file.flush();
+                } catch (IOException ignored) {}
+            }
+        }
+
+        private StringBuilder builder(){
+            this.builder.setLength(0);
+            return this.builder;
+        }
+
+        private void write(Event event) throws IOException{
+            if (!this.directoryCreated) {
+                Files.createDirectories(outputDir);
+                this.directoryCreated = true;
+            }
+            if (event.type == DECK) {
+                Files.writeString(
+                    outputDir.resolve("deck"+event.player+"_output.txt"),
+                    LogMessages.deck(builder(), event.player, event.text)
+                );
+                return;
+            }
+
+            BufferedLogFile file = this.files.computeIfAbsent(
+                event.player, player -> new BufferedLogFile(outputDir.resolve("Player"+player+"_output.txt"))
+            );
+            switch (event.type) {
+                case TEXT:
+                    file.append(event.text);
+                    break;
+                case INITIAL_HAND:
+                    file.append(LogMessages.initialHand(builder(), event.player, event.hand));
+                    break;
+                case DISCARD:
+                    file.append(LogMessages.discard(builder(), event.player, event.value, event.deckNumber));
+                    break;
+                case DRAW:
+                    file.append(LogMessages.draw(builder(), event.player, event.value, event.deckNumber));
+                    break;
+                case HAND:
+                    file.append(LogMessages.currentHand(builder(), event.player, event.hand));
+                    break;
+                case WIN:
+                    file.append(LogMessages.win(builder(), event.player));
+                    break;
+                case INFORMED:
+                    file.append(LogMessages.informed(builder(), event.player, event.value));
+                    break;
+                case EXIT:
+                    file.append(LogMessages.exit(builder(), event.player, event.hand));
+                    break;
+                case CLOSE_PLAYER:
+                    file.flush();
+                    this.files.remove(event.player);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+}
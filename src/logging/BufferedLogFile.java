@@ -0,0 +1,69 @@
+package src.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Buffered text output of one log file, written through a short-lived channel whenever the buffer fills up,
+ * so any amount of files can be written without holding them open. Not thread safe.
+ */
+class BufferedLogFile {
+    private static final int FLUSH_BYTES = 16 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private final Path path;
+    private boolean created = false;
+    private ByteBuffer buffer = ByteBuffer.allocate(256);
+
+    /**
+     * @param path file to write, replaced on the first flush
+     */
+    BufferedLogFile(Path path){
+        this.path = path;
+    }
+
+    /**
+     * Adds a line. Messages only hold ASCII characters, so each char is one byte as with the default charset
+     * @param message the line without its separator
+     */
+    void append(CharSequence message) throws IOException{
+        int length = message.length() + LINE_SEPARATOR.length();
+        if (this.buffer.remaining() < length) {
+            if (this.buffer.position() + length > FLUSH_BYTES) {
+                flush();
+            }
+            if (this.buffer.remaining() < length) {
+                int capacity = Math.max(this.buffer.capacity() * 2, this.buffer.position() + length);
+                this.buffer = ByteBuffer.allocate(capacity).put(this.buffer.flip());
+            }
+        }
+        for (int i = 0; i < message.length(); i++) {
+            this.buffer.put((byte) message.charAt(i));
+        }
+        for (int i = 0; i < LINE_SEPARATOR.length(); i++) {
+            this.buffer.put((byte) LINE_SEPARATOR.charAt(i));
+        }
+    }
+
+    /**
+     * Writes the buffered lines. Creates the file on first use, like a new FileHandler it replaces any earlier file
+     */
+    void flush() throws IOException{
+        StandardOpenOption[] options = this.created
+            ? new StandardOpenOption[]{StandardOpenOption.WRITE, StandardOpenOption.APPEND}
+            : new StandardOpenOption[]{
+                StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING
+            };
+        try (FileChannel channel = FileChannel.open(this.path, options)) {
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                channel.write(this.buffer);
+            }
+        }
+        this.buffer.clear();
+        this.created = true;
+    }
+}
@@ -0,0 +1,104 @@
+package src.logging;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import src.Card;
+import src.utils.CustomFormatter;
+
+/**
+ * Writes a player's log through a java.util.logging {@link FileHandler} as each event happens.
+ * Messages are built in one reused builder.
+ */
+public class FileHandlerLog implements PlayerLog {
+    private final Logger logger;
+    private final int player;
+    private final StringBuilder builder = new StringBuilder();
+
+    /**
+     * Creates the output directory and the player's log file
+     * @param outputDir directory to write to
+     * @param player the player's number
+     */
+    public FileHandlerLog(String outputDir, int player) {
+        this.player = player;
+        // Not looked up by name, so players of different games never share handlers
+        this.logger = Logger.getAnonymousLogger();
+        this.logger.setUseParentHandlers(false);  // Disable logger output to console
+
+        String outputFilePath = outputDir+"/Player"+player+"_output.txt";
+        try {
+            Files.createDirectories(Paths.get(outputDir));
+
+            File file = new File(outputFilePath);
+            file.createNewFile();
+
+            FileHandler fh = new FileHandler(outputFilePath);
+            fh.setFormatter(new CustomFormatter());
+            this.logger.addHandler(fh);
+        } catch (IOException ignored) {}
+    }
+
+    private StringBuilder builder() {
+        this.builder.setLength(0);
+        return this.builder;
+    }
+
+    private void write(StringBuilder message) {
+        this.logger.log(Level.INFO, message.toString());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void initialHand(Card[] hand) {
+        write(LogMessages.initialHand(builder(), this.player, hand));
+    }
+
+    @Override
+    public void discard(Card card, int deckNumber) {
+        write(LogMessages.discard(builder(), this.player, card.value, deckNumber));
+    }
+
+    @Override
+    public void draw(Card card, int deckNumber) {
+        write(LogMessages.draw(builder(), this.player, card.value, deckNumber));
+    }
+
+    @Override
+    public void hand(Card[] hand) {
+        write(LogMessages.currentHand(builder(), this.player, hand));
+    }
+
+    @Override
+    public void win() {
+        write(LogMessages.win(builder(), this.player));
+    }
+
+    @Override
+    public void informed(int winner) {
+        write(LogMessages.informed(builder(), this.player, winner));
+    }
+
+    @Override
+    public void exit(Card[] hand) {
+        write(LogMessages.exit(builder(), this.player, hand));
+    }
+
+    @Override
+    public void close() {
+        for (Handler handler : this.logger.getHandlers()) {
+            handler.close();
+            this.logger.removeHandler(handler);
+        }
+    }
+}
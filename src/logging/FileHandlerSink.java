@@ -0,0 +1,34 @@
+package src.logging;
+
+import java.io.IOException;
+
+import src.Deck;
+
+/**
+ * Writes each player's log through its own {@link FileHandlerLog} and each deck with {@link Deck#writeToFile(String)}
+ */
+public class FileHandlerSink implements LogSink {
+    private final String outputDir;
+
+    /**
+     * @param outputDir directory to write to
+     */
+    public FileHandlerSink(String outputDir){
+        this.outputDir = outputDir;
+    }
+
+    @Override
+    public PlayerLog open(int player){
+        return new FileHandlerLog(this.outputDir, player);
+    }
+
+    @Override
+    public void writeDeck(Deck deck){
+        try{
+            deck.writeToFile(this.outputDir+"/deck"+deck.getDeckNumber()+"_output.txt");
+        } catch (IOException ignored) {}
+    }
+
+    @Override
+    public void close(){}
+}
@@ -0,0 +1,235 @@
+package src.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import src.exceptions.InvalidJournal;
+import src.utils.IntQueue;
+
+/**
+ * Rebuilds the final hands, player logs and deck files of a game from its {@link JournalSink} journal.
+ * The files written are byte-identical to those the game would have written with text logging.
+ * <p>
+ * A deck only ever gets cards from the player on its left and loses them to the player on its right,
+ * so its final contents are its dealt cards followed by every discard to it, less as many cards from the top
+ * as were drawn from it. That holds however the players' records interleave in the journal.
+ * <p>
+ * Usage: {@code java src.logging.JournalReplayer <journal> <output directory>}
+ */
+public class JournalReplayer {
+    private static final int READ_BYTES = 64 * 1024;
+
+    private final Path outputDir;
+    private final Map<Integer, ReplayedPlayer> players = new HashMap<>();
+    private final Map<Integer, ReplayedDeck> decks = new HashMap<>();
+    private final StringBuilder builder = new StringBuilder();
+
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: JournalReplayer <journal> <output directory>");
+            return;
+        }
+        try {
+            new JournalReplayer(args[1]).replay(Paths.get(args[0]));
+        } catch (IOException | InvalidJournal e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * @param outputDir directory to write player logs and deck files to, null to only rebuild hands and decks
+     */
+    public JournalReplayer(String outputDir){
+        this.outputDir = outputDir == null ? null : Paths.get(outputDir);
+    }
+
+    private static class ReplayedPlayer {
+        int[] hand;
+        BufferedLogFile file;
+    }
+
+    private static class ReplayedDeck {
+        final IntQueue cards = new IntQueue(8);
+        long pendingDraws = 0;  // Draws read before the discard that put the card there
+    }
+
+    /**
+     * @param player the player's number
+     * @return the player's hand once the journal has been replayed, null if the player is not in it
+     */
+    public int[] getHand(int player){
+        ReplayedPlayer replayed = this.players.get(player);
+        return replayed == null ? null : replayed.hand;
+    }
+
+    /**
+     * @param deckNumber the deck's number
+     * @return the deck's cards from top to bottom once the journal has been replayed, null if not in it
+     */
+    public int[] getDeck(int deckNumber){
+        ReplayedDeck deck = this.decks.get(deckNumber);
+        return deck == null ? null : deck.cards.toArray();
+    }
+
+    /**
+     * Replays a journal, writing the output files if this replayer has an output directory
+     * @param journal path of the journal
+     * @throws IOException IO error when reading the journal or writing output
+     * @throws InvalidJournal the file is not a journal or is cut off inside a record
+     */
+    public void replay(Path journal) throws IOException, InvalidJournal{
+        if (this.outputDir != null) {
+            Files.createDirectories(this.outputDir);
+        }
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BYTES);
+            readFully(channel, buffer);
+            buffer.flip();
+            if (buffer.remaining() < JournalSink.RECORD_BYTES || buffer.getInt() != JournalSink.MAGIC) {
+                throw new InvalidJournal("Not a game journal");
+            }
+            int version = buffer.getInt();
+            if (version != JournalSink.VERSION) {
+                throw new InvalidJournal("Unsupported journal version "+version);
+            }
+            buffer.getLong();
+
+            while (true) {
+                while (buffer.remaining() >= JournalSink.RECORD_BYTES) {
+                    int head = buffer.getInt();
+                    apply(head & 0xFF, head >>> 8, buffer.getInt(), buffer.getInt(), buffer.getInt());
+                }
+                buffer.compact();
+                if (!readFully(channel, buffer)) {
+                    break;
+                }
+                buffer.flip();
+            }
+            if (buffer.position() != 0) {
+                throw new InvalidJournal("Journal ends inside a record");
+            }
+        }
+        finish();
+    }
+
+    /**
+     * Fills the buffer or reads to the end of the channel
+     * @return if anything was read
+     */
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException{
+        boolean read = false;
+        while (buffer.hasRemaining()) {
+            int count = channel.read(buffer);
+            if (count < 0) {
+                break;
+            }
+            read |= count > 0;
+        }
+        return read;
+    }
+
+    private StringBuilder builder(){
+        this.builder.setLength(0);
+        return this.builder;
+    }
+
+    private ReplayedDeck deck(int deckNumber){
+        return this.decks.computeIfAbsent(deckNumber, number -> new ReplayedDeck());
+    }
+
+    private void write(ReplayedPlayer replayed, StringBuilder message) throws IOException{
+        if (replayed.file != null) {
+            replayed.file.append(message);
+        }
+    }
+
+    private void apply(int type, int index, int player, int deckNumber, int value) throws IOException, InvalidJournal{
+        if (type == JournalSink.DEALT) {
+            deck(deckNumber).cards.addLast(value);
+            return;
+        }
+
+        ReplayedPlayer replayed = this.players.computeIfAbsent(player, number -> new ReplayedPlayer());
+        if (type != JournalSink.HAND && replayed.hand == null) {
+            throw new InvalidJournal("Player "+player+" has events before its hand");
+        }
+        switch (type) {
+            case JournalSink.HAND:
+                if (index == 0) {
+                    replayed.hand = new int[deckNumber];
+                    if (this.outputDir != null) {
+                        replayed.file = new BufferedLogFile(this.outputDir.resolve("Player"+player+"_output.txt"));
+                    }
+                }
+                replayed.hand[index] = value;
+                if (index == replayed.hand.length - 1) {
+                    write(replayed, LogMessages.initialHand(builder(), player, replayed.hand));
+                }
+                break;
+            case JournalSink.DISCARD:
+                deck(deckNumber).cards.addLast(value);
+                write(replayed, LogMessages.discard(builder(), player, value, deckNumber));
+                break;
+            case JournalSink.DRAW:
+                ReplayedDeck deck = deck(deckNumber);
+                if (deck.cards.isEmpty()) {
+                    deck.pendingDraws++;
+                } else {
+                    deck.cards.removeFirst();
+                }
+                replayed.hand[index] = value;
+                write(replayed, LogMessages.draw(builder(), player, value, deckNumber));
+                write(replayed, LogMessages.currentHand(builder(), player, replayed.hand));
+                break;
+            case JournalSink.WIN:
+                write(replayed, LogMessages.win(builder(), player));
+                break;
+            case JournalSink.INFORMED:
+                write(replayed, LogMessages.informed(builder(), player, value));
+                break;
+            case JournalSink.EXIT:
+                write(replayed, LogMessages.exit(builder(), player, replayed.hand));
+                if (replayed.file != null) {
+                    replayed.file.flush();
+                    replayed.file = null;
+                }
+                break;
+            default:
+                throw new InvalidJournal("Unknown record type "+type);
+        }
+    }
+
+    /**
+     * Applies draws read before their cards were added and writes whatever is still buffered and the decks
+     */
+    private void finish() throws IOException{
+        for (ReplayedDeck deck : this.decks.values()) {
+            for (; deck.pendingDraws > 0 && !deck.cards.isEmpty(); deck.pendingDraws--) {
+                deck.cards.removeFirst();
+            }
+        }
+        if (this.outputDir == null) {
+            return;
+        }
+        for (ReplayedPlayer replayed : this.players.values()) {
+            if (replayed.file != null) {
+                replayed.file.flush();
+                replayed.file = null;
+            }
+        }
+        for (Map.Entry<Integer, ReplayedDeck> deck : this.decks.entrySet()) {
+            StringBuilder contents = LogMessages.hand(builder(), deck.getValue().cards.toArray());
+            Files.writeString(
+                this.outputDir.resolve("deck"+deck.getKey()+"_output.txt"),
+                LogMessages.deck(new StringBuilder(), deck.getKey(), contents.toString())
+            );
+        }
+    }
+}
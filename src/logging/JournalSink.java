@@ -0,0 +1,226 @@
+package src.logging;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+import src.Card;
+import src.Deck;
+
+/**
+ * Writes a game as an append-only binary journal instead of text, see {@link JournalReplayer} to turn it back
+ * into the player logs and deck files.
+ * <p>
+ * The file starts with a 16 byte header, {@link #MAGIC}, {@link #VERSION} and 8 zero bytes,
+ * followed by 16 byte big-endian records of four ints: {@code type | index << 8}, player, deck and value.
+ * Each player buffers its own records, so records of one player are in order but players interleave.
+ * <ul>
+ * <li>{@link #HAND} card {@code index} of the player's dealt hand, deck holds the hand size</li>
+ * <li>{@link #DEALT} card {@code index} from the top of a dealt deck, player is 0</li>
+ * <li>{@link #DISCARD} the player discarded hand card {@code index} to deck</li>
+ * <li>{@link #DRAW} the player drew into hand card {@code index} from deck</li>
+ * <li>{@link #WIN} the player declared a win</li>
+ * <li>{@link #INFORMED} the player was told value won, 0 if nobody can</li>
+ * <li>{@link #EXIT} the player exited</li>
+ * </ul>
+ */
+public class JournalSink implements LogSink {
+    static final int MAGIC = 0x434A524E;  // "CJRN"
+    static final int VERSION = 1;
+    static final int RECORD_BYTES = 16;
+
+    static final int HAND = 1;
+    static final int DEALT = 2;
+    static final int DISCARD = 3;
+    static final int DRAW = 4;
+    static final int WIN = 5;
+    static final int INFORMED = 6;
+    static final int EXIT = 7;
+
+    /** A player's buffer is written once it holds this many bytes */
+    private static final int FLUSH_BYTES = 4 * 1024;
+
+    private final FileChannel channel;
+
+    /**
+     * Creates the output directory and the journal file
+     * @param outputDir directory to write {@code game.journal} to
+     * @throws UncheckedIOException the journal could not be created
+     */
+    public JournalSink(String outputDir){
+        Path path = Paths.get(outputDir).resolve("game.journal");
+        try {
+            Files.createDirectories(path.getParent());
+            this.channel = FileChannel.open(
+                path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING
+            );
+            ByteBuffer header = ByteBuffer.allocate(RECORD_BYTES).putInt(MAGIC).putInt(VERSION).putLong(0);
+            write(header);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a buffer, writes of different players never interleave within a buffer
+     */
+    private void write(ByteBuffer buffer) throws IOException{
+        buffer.flip();
+        synchronized (this.channel) {
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+        }
+        buffer.clear();
+    }
+
+    private static ByteBuffer record(ByteBuffer buffer, int type, int index, int player, int deckNumber, int value){
+        return buffer.putInt(type | index << 8).putInt(player).putInt(deckNumber).putInt(value);
+    }
+
+    @Override
+    public PlayerLog open(int player){
+        return new JournalLog(player);
+    }
+
+    @Override
+    public void dealt(Deck deck){
+        Card[] cards = deck.toArray();
+        ByteBuffer buffer = ByteBuffer.allocate(Math.max(1, cards.length) * RECORD_BYTES);
+        for (int i = 0; i < cards.length; i++) {
+            record(buffer, DEALT, i, 0, deck.getDeckNumber(), cards[i].value);
+        }
+        try {
+            write(buffer);
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * Decks are rebuilt from the dealt, discard and draw records
+     */
+    @Override
+    public void writeDeck(Deck deck){}
+
+    @Override
+    public void close(){
+        try {
+            this.channel.close();
+        } catch (IOException ignored) {}
+    }
+
+    /**
+     * Player side, runs on the player's thread
+     */
+    private final class JournalLog implements PlayerLog {
+        private final int player;
+        private ByteBuffer buffer = ByteBuffer.allocate(8 * RECORD_BYTES);
+        // Hand values after the last turn, to find which card a turn replaced
+        private int[] values;
+        private int discardedValue;
+        private int discardDeck;
+        private int drawnValue;
+        private int drawDeck;
+
+        JournalLog(int player){
+            this.player = player;
+        }
+
+        /**
+         * Buffers start small and grow up to the flush size, so players that take few turns stay cheap
+         */
+        private void add(int type, int index, int deckNumber, int value){
+            if (!this.buffer.hasRemaining()) {
+                if (this.buffer.capacity() < FLUSH_BYTES) {
+                    this.buffer = ByteBuffer.allocate(this.buffer.capacity() * 2).put(this.buffer.flip());
+                } else {
+                    flush();
+                }
+            }
+            record(this.buffer, type, index, this.player, deckNumber, value);
+        }
+
+        private void flush(){
+            try {
+                write(this.buffer);
+            } catch (IOException ignored) {
+                this.buffer.clear();
+            }
+        }
+
+        @Override
+        public boolean isEnabled(){
+            return true;
+        }
+
+        @Override
+        public void initialHand(Card[] hand){
+            this.values = new int[hand.length];
+            for (int i = 0; i < hand.length; i++) {
+                this.values[i] = hand[i].value;
+                add(HAND, i, hand.length, hand[i].value);
+            }
+        }
+
+        @Override
+        public void discard(Card card, int deckNumber){
+            this.discardedValue = card.value;
+            this.discardDeck = deckNumber;
+        }
+
+        @Override
+        public void draw(Card card, int deckNumber){
+            this.drawnValue = card.value;
+            this.drawDeck = deckNumber;
+        }
+
+        /**
+         * The turn replaced the one card whose value changed,
+         * if none changed the drawn value equals the discarded one and any card holding it will do
+         */
+        @Override
+        public void hand(Card[] hand){
+            int index = -1;
+            for (int i = 0; i < hand.length; i++) {
+                if (hand[i].value != this.values[i]) {
+                    index = i;
+                    this.values[i] = hand[i].value;
+                    break;
+                }
+            }
+            if (index < 0) {
+                for (int i = 0; index < 0; i++) {
+                    if (this.values[i] == this.drawnValue) {
+                        index = i;
+                    }
+                }
+            }
+            add(DISCARD, index, this.discardDeck, this.discardedValue);
+            add(DRAW, index, this.drawDeck, this.drawnValue);
+        }
+
+        @Override
+        public void win(){
+            add(WIN, 0, 0, 0);
+        }
+
+        @Override
+        public void informed(int winner){
+            add(INFORMED, 0, 0, winner);
+        }
+
+        @Override
+        public void exit(Card[] hand){
+            add(EXIT, 0, 0, 0);
+        }
+
+        @Override
+        public void close(){
+            flush();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package src.logging;
+
+import src.Card;
+
+/**
+ * Text of every player log message, appended to a reusable builder so no intermediate strings are made.
+ * Messages do not include the line separator added by the writer.
+ */
+public class LogMessages {
+    public static StringBuilder initialHand(StringBuilder builder, int player, Card[] hand) {
+        builder.append("Player ").append(player).append(" initial hand ");
+        return hand(builder, hand);
+    }
+
+    public static StringBuilder discard(StringBuilder builder, int player, int value, int deckNumber) {
+        return builder.append("Player ").append(player)
+            .append(" discards a ").append(value)
+            .append(" to deck ").append(deckNumber);
+    }
+
+    public static StringBuilder draw(StringBuilder builder, int player, int value, int deckNumber) {
+        return builder.append("Player ").append(player)
+            .append(" draws a ").append(value)
+            .append(" from deck ").append(deckNumber);
+    }
+
+    public static StringBuilder initialHand(StringBuilder builder, int player, int[] hand) {
+        builder.append("Player ").append(player).append(" initial hand ");
+        return hand(builder, hand);
+    }
+
+    public static StringBuilder currentHand(StringBuilder builder, int player, Card[] hand) {
+        builder.append("player ").append(player).append(" current hand is ");
+        return hand(builder, hand);
+    }
+
+    public static StringBuilder currentHand(StringBuilder builder, int player, int[] hand) {
+        builder.append("player ").append(player).append(" current hand is ");
+        return hand(builder, hand);
+    }
+
+    public static StringBuilder win(StringBuilder builder, int player) {
+        return builder.append("player ").append(player).append(" wins");
+    }
+
+    /**
+     * @param winner number of the player who won, 0 if the game ended without a winner
+     */
+    public static StringBuilder informed(StringBuilder builder, int player, int winner) {
+        if (winner == 0) {
+            return builder.append("player ").append(player).append(" has been informed that nobody can win");
+        }
+        return builder.append("player ").append(winner)
+            .append(" has informed player ").append(player)
+            .append(" that player ").append(winner).append(" has won");
+    }
+
+    public static StringBuilder exit(StringBuilder builder, int player, Card[] hand) {
+        builder.append("player ").append(player).append(" exits\n")
+            .append("player ").append(player).append(" final hand: ");
+        return hand(builder, hand);
+    }
+
+    public static StringBuilder exit(StringBuilder builder, int player, int[] hand) {
+        builder.append("player ").append(player).append(" exits\n")
+            .append("player ").append(player).append(" final hand: ");
+        return hand(builder, hand);
+    }
+
+    /**
+     * Same format as {@code Arrays.toString(hand)}
+     */
+    public static StringBuilder hand(StringBuilder builder, Card[] hand) {
+        builder.append('[');
+        for (int i = 0; i < hand.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(hand[i].value);
+        }
+        return builder.append(']');
+    }
+
+    /**
+     * Same format as {@code Arrays.toString(hand)}
+     */
+    public static StringBuilder hand(StringBuilder builder, int[] hand) {
+        builder.append('[');
+        for (int i = 0; i < hand.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(hand[i]);
+        }
+        return builder.append(']');
+    }
+
+    /**
+     * Same format as {@link src.Deck#writeToFile(String)}
+     */
+    public static StringBuilder deck(StringBuilder builder, int deckNumber, String contents) {
+        return builder.append("deck").append(deckNumber).append(" contains ").append(contents);
+    }
+}
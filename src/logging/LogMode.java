@@ -0,0 +1,35 @@
+package src.logging;
+
+/**
+ * How a game writes player logs and deck files, chosen when a game is created
+ */
+public enum LogMode {
+    /** A java.util.logging FileHandler per player, writing and flushing every message as it happens */
+    FILE_HANDLER,
+    /** Players format messages and queue them for writer threads, see {@link AsyncLogSink} */
+    ASYNC,
+    /** Players queue raw events and writer threads format them, see {@link AsyncLogSink} */
+    ASYNC_DEFERRED,
+    /** No text, one binary journal of every event, see {@link JournalSink} and {@link JournalReplayer} */
+    JOURNAL;
+
+    /**
+     * Creates a sink of this mode
+     * @param outputDir directory to write to
+     * @param writerThreads threads writing files, only used by asynchronous modes
+     * @return the sink
+     */
+    public LogSink createSink(String outputDir, int writerThreads){
+        switch (this) {
+            case ASYNC:
+                return new AsyncLogSink(outputDir, writerThreads, false);
+            case ASYNC_DEFERRED:
+                return new AsyncLogSink(outputDir, writerThreads, true);
+            case JOURNAL:
+                return new JournalSink(outputDir);
+            case FILE_HANDLER:
+            default:
+                return new FileHandlerSink(outputDir);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package src.logging;
+
+import src.Deck;
+
+/**
+ * Where the players of one game write their logs and final decks
+ */
+public interface LogSink {
+    /** Writes nothing */
+    LogSink DISABLED = new LogSink() {
+        @Override
+        public PlayerLog open(int player){
+            return PlayerLog.DISABLED;
+        }
+
+        @Override
+        public void writeDeck(Deck deck){}
+
+        @Override
+        public void close(){}
+    };
+
+    /**
+     * @param player the player's number
+     * @return log for the player's events, called once per player before its first event
+     */
+    PlayerLog open(int player);
+
+    /**
+     * Records a deck's starting contents, called once per deck before any player starts
+     * @param deck the dealt deck
+     */
+    default void dealt(Deck deck){}
+
+    /**
+     * Writes a deck's final contents, called once per deck after the game
+     * @param deck the deck to write
+     */
+    void writeDeck(Deck deck);
+
+    /**
+     * Writes everything still pending, called once every player has finished
+     */
+    void close();
+}
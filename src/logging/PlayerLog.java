@@ -0,0 +1,88 @@
+package src.logging;
+
+import src.Card;
+
+/**
+ * Receives the events of one player's game, each becomes a line of that player's output.
+ * Implementations decide when and where messages are formatted, see {@link LogMessages} for the text.
+ */
+public interface PlayerLog {
+    /** Writes nothing and formats nothing */
+    PlayerLog DISABLED = new PlayerLog() {
+        @Override
+        public boolean isEnabled(){
+            return false;
+        }
+
+        @Override
+        public void initialHand(Card[] hand){}
+
+        @Override
+        public void discard(Card card, int deckNumber){}
+
+        @Override
+        public void draw(Card card, int deckNumber){}
+
+        @Override
+        public void hand(Card[] hand){}
+
+        @Override
+        public void win(){}
+
+        @Override
+        public void informed(int winner){}
+
+        @Override
+        public void exit(Card[] hand){}
+
+        @Override
+        public void close(){}
+    };
+
+    /**
+     * @return if events are written anywhere, callers may skip work done only for logging when not
+     */
+    boolean isEnabled();
+
+    /**
+     * @param hand the hand dealt to the player
+     */
+    void initialHand(Card[] hand);
+
+    /**
+     * @param card the card discarded
+     * @param deckNumber the deck it was discarded to
+     */
+    void discard(Card card, int deckNumber);
+
+    /**
+     * @param card the card drawn
+     * @param deckNumber the deck it was drawn from
+     */
+    void draw(Card card, int deckNumber);
+
+    /**
+     * @param hand the player's hand after a turn, only read during the call
+     */
+    void hand(Card[] hand);
+
+    /**
+     * The player declared a win
+     */
+    void win();
+
+    /**
+     * @param winner number of the player who won, 0 if the game ended without a winner
+     */
+    void informed(int winner);
+
+    /**
+     * @param hand the player's final hand
+     */
+    void exit(Card[] hand);
+
+    /**
+     * Called once the player has finished, releases anything held for writing
+     */
+    void close();
+}
@@ -0,0 +1,159 @@
+package src.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import src.Deck;
+import src.GameState;
+import src.Player;
+
+/**
+ * Turn counts, card waits and deck depths of one running game, published over JMX.
+ * Players write counters striped by player so the turn loop never contends, and deck depths are only read
+ * when asked for, so decks do no extra work.
+ */
+public class GameMetrics implements GameMetricsMXBean {
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
+    private final Deck[] decks;
+    private final GameState state;
+    private final long createdAt = System.nanoTime();
+    private final StripedCounter turns;
+    private final StripedCounter waitNanos;
+    private final LatencyHistogram waits = new LatencyHistogram();
+    private ObjectName name;
+
+    /**
+     * @param decks the game's decks, deck 1 first
+     * @param state the game's win state
+     */
+    public GameMetrics(Deck[] decks, GameState state){
+        this.decks = decks;
+        this.state = state;
+        this.turns = new StripedCounter(decks.length);
+        this.waitNanos = new StripedCounter(decks.length);
+    }
+
+    /**
+     * @param playerIndex the player's index, from 0
+     * @return metrics the player records to, only to be used by that player's thread
+     */
+    public PlayerMetrics forPlayer(int playerIndex){
+        return new PlayerMetrics() {
+            @Override
+            public void turn(){
+                GameMetrics.this.turns.add(playerIndex, 1);
+            }
+
+            @Override
+            public long waitStarted(){
+                return System.nanoTime();
+            }
+
+            @Override
+            public void waitEnded(long startedAt){
+                long nanos = System.nanoTime() - startedAt;
+                GameMetrics.this.waitNanos.add(playerIndex, nanos);
+                GameMetrics.this.waits.record(nanos);
+            }
+        };
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server under a new name
+     * @return the name registered
+     */
+    public synchronized ObjectName register(){
+        if (this.name == null) {
+            try {
+                ObjectName name = new ObjectName("src:type=CardGame,name=game"+NEXT_ID.getAndIncrement());
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+                this.name = name;
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not register game metrics", e);
+            }
+        }
+        return this.name;
+    }
+
+    /**
+     * Removes these metrics from the platform MBean server, does nothing if they are not registered
+     */
+    public synchronized void unregister(){
+        if (this.name != null) {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            try {
+                server.unregisterMBean(this.name);
+            } catch (JMException e) {
+                // already gone
+            }
+            this.name = null;
+        }
+    }
+
+    @Override
+    public int getPlayerAmount(){
+        return this.decks.length;
+    }
+
+    @Override
+    public long getTurns(){
+        return this.turns.sum();
+    }
+
+    @Override
+    public long[] getTurnsPerPlayer(){
+        return this.turns.toArray();
+    }
+
+    @Override
+    public long[] getWaitNanosPerPlayer(){
+        return this.waitNanos.toArray();
+    }
+
+    @Override
+    public long getWaitCount(){
+        return this.waits.count();
+    }
+
+    @Override
+    public long getWaitP50Nanos(){
+        return this.waits.percentileNanos(0.5);
+    }
+
+    @Override
+    public long getWaitP99Nanos(){
+        return this.waits.percentileNanos(0.99);
+    }
+
+    @Override
+    public long[] getWaitHistogram(){
+        return this.waits.counts();
+    }
+
+    @Override
+    public int[] getDeckDepths(){
+        int[] depths = new int[this.decks.length];
+        for (int i = 0; i < depths.length; i++) {
+            depths[i] = this.decks[i].size();
+        }
+        return depths;
+    }
+
+    @Override
+    public int getWinner(){
+        Player winner = this.state.wonBy();
+        return winner == null ? 0 : winner.getPlayerNumber();
+    }
+
+    @Override
+    public long getWinNanos(){
+        long wonAt = this.state.wonAt();
+        // the win time is set just after the winner
+        return !this.state.isWon() || wonAt == 0 ? -1 : wonAt - this.createdAt;
+    }
+}
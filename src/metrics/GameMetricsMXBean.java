@@ -0,0 +1,38 @@
+package src.metrics;
+
+/**
+ * Live view of one game, registered as {@code src:type=CardGame,name=game<id>}
+ */
+public interface GameMetricsMXBean {
+    int getPlayerAmount();
+
+    /** @return turns taken by every player so far */
+    long getTurns();
+
+    /** @return turns taken by each player so far, player 1 first */
+    long[] getTurnsPerPlayer();
+
+    /** @return time each player has spent waiting for a card, in nanoseconds, player 1 first */
+    long[] getWaitNanosPerPlayer();
+
+    /** @return amount of waits for a card by every player */
+    long getWaitCount();
+
+    /** @return median wait for a card, rounded up to a power of two, in nanoseconds */
+    long getWaitP50Nanos();
+
+    /** @return 99th percentile wait for a card, rounded up to a power of two, in nanoseconds */
+    long getWaitP99Nanos();
+
+    /** @return waits for a card per bucket, bucket i counting waits below 2^i ns */
+    long[] getWaitHistogram();
+
+    /** @return cards currently in each deck, deck 1 first, only approximate while players move cards */
+    int[] getDeckDepths();
+
+    /** @return the winner's number, 0 while nobody has won */
+    int getWinner();
+
+    /** @return time from the game's creation to its win in nanoseconds, -1 while nobody has won */
+    long getWinNanos();
+}
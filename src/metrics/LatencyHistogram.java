@@ -0,0 +1,80 @@
+package src.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts durations in power of two buckets of nanoseconds, bucket i holding durations below 2^i ns.
+ * Recording is one striped add, so any amount of threads can record at once.
+ */
+public class LatencyHistogram {
+    /** Bucket 0 holds 0 ns, bucket 63 everything from 2^62 ns */
+    static final int BUCKETS = 64;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram(){
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos duration to record, negative durations count as 0
+     */
+    public void record(long nanos){
+        nanos = Math.max(0, nanos);
+        this.buckets[Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos))].increment();
+        this.totalNanos.add(nanos);
+    }
+
+    /**
+     * @return count of each bucket
+     */
+    public long[] counts(){
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = this.buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * @return amount of durations recorded
+     */
+    public long count(){
+        long count = 0;
+        for (LongAdder bucket : this.buckets) {
+            count += bucket.sum();
+        }
+        return count;
+    }
+
+    /**
+     * @return sum of every duration recorded
+     */
+    public long totalNanos(){
+        return this.totalNanos.sum();
+    }
+
+    /**
+     * @param fraction between 0 and 1, e.g. 0.99
+     * @return upper bound of the bucket holding that fraction of durations, 0 if none are recorded
+     */
+    public long percentileNanos(double fraction){
+        long[] counts = counts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        long rank = (long) Math.ceil(fraction * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i == 0 ? 0 : i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,37 @@
+package src.metrics;
+
+/**
+ * Receives one player's turn and wait events, see {@link GameMetrics}
+ */
+public interface PlayerMetrics {
+    /** Records nothing and reads no clock */
+    PlayerMetrics DISABLED = new PlayerMetrics() {
+        @Override
+        public void turn(){}
+
+        @Override
+        public long waitStarted(){
+            return 0;
+        }
+
+        @Override
+        public void waitEnded(long startedAt){}
+    };
+
+    /**
+     * Called after each turn taken
+     */
+    void turn();
+
+    /**
+     * Called before waiting for a card
+     * @return value to pass to {@link #waitEnded(long)}
+     */
+    long waitStarted();
+
+    /**
+     * Called after waiting for a card, whether or not one arrived
+     * @param startedAt the value {@link #waitStarted()} returned
+     */
+    void waitEnded(long startedAt);
+}
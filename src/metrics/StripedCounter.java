@@ -0,0 +1,66 @@
+package src.metrics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Counters with one stripe per writer, each on its own cache line, so writers never contend or share lines.
+ * A stripe must only be added to by one thread at a time, any thread may read.
+ */
+public class StripedCounter {
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+    /** Longs per cache line, stripes are this far apart */
+    private static final int STRIDE = 8;
+
+    private final long[] counts;
+    private final int stripes;
+
+    /**
+     * @param stripes amount of stripes
+     */
+    public StripedCounter(int stripes){
+        this.stripes = stripes;
+        // a spare line in front keeps the first stripe off the array header's line
+        this.counts = new long[(stripes + 1) * STRIDE];
+    }
+
+    /**
+     * @param stripe the writer's stripe
+     * @param amount amount to add
+     */
+    public void add(int stripe, long amount){
+        int index = (stripe + 1) * STRIDE;
+        // single writer, so a plain read and an opaque write cannot lose updates
+        COUNTS.setOpaque(this.counts, index, this.counts[index] + amount);
+    }
+
+    /**
+     * @param stripe the stripe to read
+     * @return the stripe's count
+     */
+    public long get(int stripe){
+        return (long) COUNTS.getOpaque(this.counts, (stripe + 1) * STRIDE);
+    }
+
+    /**
+     * @return every stripe's count
+     */
+    public long[] toArray(){
+        long[] values = new long[this.stripes];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = get(i);
+        }
+        return values;
+    }
+
+    /**
+     * @return the total of every stripe, not a snapshot while writers are adding
+     */
+    public long sum(){
+        long sum = 0;
+        for (int i = 0; i < this.stripes; i++) {
+            sum += get(i);
+        }
+        return sum;
+    }
+}
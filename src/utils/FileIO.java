@@ -5,7 +5,13 @@ import java.io.FileNotFoundException;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import src.exceptions.MaxLines;
 
@@ -49,4 +55,23 @@ public class FileIO {
             return lines.toArray(new String[lines.size()]);
         }
     }
+
+    /**
+     * Deletes a file, or a directory and everything in it, does nothing if it does not exist
+     * @param path the file or directory to delete
+     * @throws IOException a file could not be deleted
+     */
+    public static void deleteRecursively(Path path) throws IOException{
+        if (!Files.exists(path)) {
+            return;
+        }
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(path)) {
+            // Deepest first, so each directory is empty when it is deleted
+            files = walk.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            Files.delete(file);
+        }
+    }
 }
@@ -0,0 +1,88 @@
+package src.utils;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * First in first out queue of primitive ints backed by an array ring.
+ * Only allocates when it grows past its capacity.
+ */
+public class IntQueue {
+    private int[] elements;
+    private int head = 0;
+    private int size = 0;
+
+    /**
+     * @param capacity amount of elements held before growing
+     */
+    public IntQueue(int capacity) {
+        this.elements = new int[Math.max(1, capacity)];
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * @param element the element to add to the end of the queue
+     */
+    public void addLast(int element) {
+        if (this.size == this.elements.length) {
+            grow();
+        }
+        this.elements[(this.head + this.size) % this.elements.length] = element;
+        this.size++;
+    }
+
+    /**
+     * @return the first element without removing it
+     * @throws NoSuchElementException the queue is empty
+     */
+    public int peekFirst() {
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.elements[this.head];
+    }
+
+    /**
+     * @return the removed first element
+     * @throws NoSuchElementException the queue is empty
+     */
+    public int removeFirst() {
+        int element = peekFirst();
+        this.head = (this.head + 1) % this.elements.length;
+        this.size--;
+        return element;
+    }
+
+    /**
+     * @return the elements from first to last
+     */
+    public int[] toArray() {
+        int size = this.size;
+        int[] output = new int[size];
+        for (int i = 0; i < size; i++) {
+            output[i] = this.elements[(this.head + i) % this.elements.length];
+        }
+        return output;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+
+    private void grow() {
+        int[] grown = new int[this.elements.length * 2];
+        for (int i = 0; i < this.size; i++) {
+            grown[i] = this.elements[(this.head + i) % this.elements.length];
+        }
+        this.elements = grown;
+        this.head = 0;
+    }
+}
@@ -1,14 +1,16 @@
 package src.utils;
 
+import java.util.concurrent.ThreadLocalRandom;
+
 public class Random extends java.util.Random {
 
     /**
-     * Generates a random integer in provided range
+     * Generates a random integer in provided range, from a per-thread generator so threads do not contend
      * @param min inclusive minimum number
      * @param max exclusive maximum number
      * @return Random integer
      */
     public static int randInt(int min, int max) {
-        return (int) ((Math.random() * (max - min)) + min);
+        return ThreadLocalRandom.current().nextInt(min, max);
     }
 }
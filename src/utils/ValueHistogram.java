@@ -0,0 +1,104 @@
+package src.utils;
+
+/**
+ * Counts how many times each card value occurs in a hand, updated one card at a time.
+ * Values are kept in a primitive open-addressing table sized for the hand,
+ * so adding, removing and {@link ValueHistogram#distinct()} are constant time.
+ */
+public class ValueHistogram {
+    private final int[] values;
+    private final int[] counts;  // 0 marks an empty slot
+    private final int mask;
+    private final int shift;
+    private int distinct = 0;
+
+    /**
+     * @param maxDistinct most distinct values held at once, e.g. the hand size
+     */
+    public ValueHistogram(int maxDistinct) {
+        // at most half full so probe sequences stay short
+        int size = Integer.highestOneBit(Math.max(1, maxDistinct)) << 2;
+        this.values = new int[size];
+        this.counts = new int[size];
+        this.mask = size - 1;
+        this.shift = 32 - Integer.numberOfTrailingZeros(size);
+    }
+
+    /**
+     * @return amount of different values currently counted
+     */
+    public int distinct() {
+        return this.distinct;
+    }
+
+    /**
+     * @param value the value to look up
+     * @return how many times the value is currently counted
+     */
+    public int count(int value) {
+        return this.counts[slot(value)];
+    }
+
+    /**
+     * @param value the value to count once more
+     * @throws IllegalStateException more distinct values than the histogram was sized for
+     */
+    public void add(int value) {
+        int i = slot(value);
+        if (this.counts[i] == 0) {
+            if (2 * (this.distinct + 1) > this.values.length) {
+                throw new IllegalStateException("Histogram is full");
+            }
+            this.values[i] = value;
+            this.distinct++;
+        }
+        this.counts[i]++;
+    }
+
+    /**
+     * @param value the value to count once less
+     * @throws IllegalArgumentException the value is not counted
+     */
+    public void remove(int value) {
+        int i = slot(value);
+        if (this.counts[i] == 0) {
+            throw new IllegalArgumentException("Value " + value + " is not counted");
+        }
+        if (--this.counts[i] == 0) {
+            this.distinct--;
+            closeGap(i);
+        }
+    }
+
+    private int home(int value) {
+        return (value * 0x9E3779B9) >>> this.shift;
+    }
+
+    private int slot(int value) {
+        int i = home(value);
+        while (this.counts[i] != 0 && this.values[i] != value) {
+            i = (i + 1) & this.mask;
+        }
+        return i;
+    }
+
+    /**
+     * Moves later entries of the probe sequence back into an emptied slot,
+     * so lookups never stop early at a gap
+     */
+    private void closeGap(int gap) {
+        int i = (gap + 1) & this.mask;
+        while (this.counts[i] != 0) {
+            int home = home(this.values[i]);
+            // the entry may only move back if the gap lies between its home and its slot
+            boolean movable = (gap <= i) ? (home <= gap || home > i) : (home <= gap && home > i);
+            if (movable) {
+                this.values[gap] = this.values[i];
+                this.counts[gap] = this.counts[i];
+                this.counts[i] = 0;
+                gap = i;
+            }
+            i = (i + 1) & this.mask;
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package src.utils;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class VirtualThreads {
+    /**
+     * Looked up reflectively so the project still builds and runs on JDKs without virtual threads
+     * @return if this JVM supports virtual threads
+     */
+    public static boolean isSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task
+     * @return the executor
+     * @throws UnsupportedOperationException JVM does not support virtual threads (before Java 21)
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later", e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Could not create virtual thread executor", e);
+        }
+    }
+}
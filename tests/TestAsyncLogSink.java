@@ -0,0 +1,80 @@
+package tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import src.CardGame;
+import src.GameConfig;
+import src.Pack;
+import src.exceptions.InvalidPack;
+import src.logging.LogMode;
+import src.utils.FileIO;
+
+public class TestAsyncLogSink {
+    private final String outputDir = "testLogOutput";
+    private static final LogMode[] TEXT_MODES = {LogMode.FILE_HANDLER, LogMode.ASYNC, LogMode.ASYNC_DEFERRED};
+
+    @After
+    public void tearDown() throws IOException {
+        FileIO.deleteRecursively(Path.of(outputDir));
+    }
+
+    private static List<String> fileNames(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void testSameOutputInEveryMode() throws InvalidPack, IOException {
+        Pack pack = TestSimulationEngine.lapPack(5);
+        for (LogMode mode : TEXT_MODES) {
+            CardGame.simulate(pack, new GameConfig()
+                .setLogMode(mode)
+                .setLogWriters(2)
+                .setOutputDir(outputDir+"/"+mode));
+        }
+
+        Path expectedDir = Path.of(outputDir, LogMode.FILE_HANDLER.toString());
+        List<String> expectedFiles = fileNames(expectedDir);
+        assertEquals(10, expectedFiles.size());
+        for (LogMode mode : TEXT_MODES) {
+            Path dir = Path.of(outputDir, mode.toString());
+            assertEquals(expectedFiles, fileNames(dir));
+            for (String file : expectedFiles) {
+                assertArrayEquals(
+                    mode+" "+file,
+                    Files.readAllBytes(expectedDir.resolve(file)),
+                    Files.readAllBytes(dir.resolve(file))
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testWrittenWhenFinished() throws InvalidPack, IOException, InterruptedException {
+        Pack pack = TestSimulationEngine.lapPack(3);
+        CardGame game = CardGame.start(pack, new GameConfig()
+            .setLogMode(LogMode.ASYNC_DEFERRED)
+            .setOutputDir(outputDir));
+        game.awaitFinish();
+
+        for (int i = 1; i <= 3; i++) {
+            List<String> lines = Files.readAllLines(Path.of(outputDir, "Player"+i+"_output.txt"));
+            assertEquals("Player "+i+" initial hand", lines.get(0).substring(0, ("Player "+i+" initial hand").length()));
+            assertTrue(lines.get(lines.size() - 1).startsWith("player "+i+" final hand: "));
+            assertTrue(Files.exists(Path.of(outputDir, "deck"+i+"_output.txt")));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import src.BatchRunner;
+import src.GameConfig;
+import src.exceptions.InvalidPack;
+import src.logging.LogMode;
+import src.utils.FileIO;
+
+public class TestBatchRunner {
+    private final Path dir = Path.of("testBatchRunner");
+
+    @After
+    public void tearDown() throws IOException {
+        FileIO.deleteRecursively(dir);
+    }
+
+    @Test
+    public void testRunDirectory() throws IOException, InvalidPack {
+        Path packs = Files.createDirectories(dir.resolve("packs"));
+        TestSimulationEngine.lapPack(3).writeToFile(packs.resolve("a.txt").toString());
+        TestSimulationEngine.lapPack(5).writeToFile(packs.resolve("b.txt").toString());
+        Files.writeString(packs.resolve("c.txt"), "1\n2\nthree\n");
+        Files.writeString(packs.resolve(".hidden"), "not a pack\n");
+
+        List<String> files = BatchRunner.packFiles(List.of(packs.toString()));
+        assertEquals(3, files.size());
+        assertTrue(files.get(0).endsWith("a.txt"));
+
+        BatchRunner.Outcome[] outcomes = new BatchRunner.Outcome[3];
+        try (BatchRunner runner = new BatchRunner(2, new GameConfig().setOutputDir(dir.resolve("logs").toString()))) {
+            Iterator<BatchRunner.Outcome> iterator = runner.runAll(files, 0, 4);
+            while (iterator.hasNext()) {
+                BatchRunner.Outcome outcome = iterator.next();
+                outcomes[outcome.index] = outcome;
+            }
+        }
+
+        assertNull(outcomes[0].error);
+        assertEquals(3, outcomes[0].result.playerAmount);
+        assertEquals(1, outcomes[0].result.winner);
+        assertEquals(5, outcomes[1].result.playerAmount);
+        assertEquals(4, outcomes[0].analysis.preferredInPack(1));
+        assertEquals(0, outcomes[0].analysis.preferredInPack(2));
+        // each game logs to its own directory
+        assertTrue(Files.exists(dir.resolve("logs/game0/Player1_output.txt")));
+        assertTrue(Files.exists(dir.resolve("logs/game1/deck5_output.txt")));
+
+        assertNull(outcomes[2].result);
+        assertEquals("File line count must be a multiple of 8, is instead 3", outcomes[2].error);
+        assertTrue(outcomes[2].toCsv().endsWith(",,,,,\"File line count must be a multiple of 8, is instead 3\""));
+        assertTrue(outcomes[0].toJson().startsWith("{\"index\":0,\"pack\":"));
+        assertTrue(outcomes[0].toJson().contains("\"players\":3,\"winner\":1,"));
+        assertTrue(outcomes[0].toCsv().endsWith(",true,0,1,"));
+        assertTrue(outcomes[0].toJson().endsWith("\"winnable\":true,\"initialWinner\":0,\"reachable\":1,\"preferredInPack\":[4,0,0]}"));
+    }
+
+    @Test
+    public void testGivenPlayerAmount() throws IOException, InvalidPack {
+        // every card has the same value, so the game ends however the pack is dealt
+        Path pack = Files.createDirectories(dir).resolve("pack.txt");
+        Files.writeString(pack, "1\n".repeat(32));
+        try (BatchRunner runner = new BatchRunner(1, new GameConfig().setOutputDir(null))) {
+            BatchRunner.Outcome outcome = runner.runAll(List.of(pack.toString()), 2, 8).next();
+            assertEquals(2, outcome.result.playerAmount);
+
+            outcome = runner.runAll(List.of(pack.toString()), 3, 4).next();
+            // streamed, so the first line over the count is reported
+            assertEquals("File's line count must be 8 times player amount (24 lines), instead found >24 lines", outcome.error);
+
+            outcome = runner.runAll(List.of(dir.resolve("missing.txt").toString()), 0, 4).next();
+            assertTrue(outcome.error.startsWith("File not found: "));
+        }
+    }
+
+    @Test
+    public void testUnexpectedErrorOnlyFailsItsGame() throws IOException, InvalidPack {
+        Path pack = Files.createDirectories(dir).resolve("pack.txt");
+        TestSimulationEngine.lapPack(3).writeToFile(pack.toString());
+        // A file where game 1's output directory belongs, so its journal cannot be created
+        Path logs = Files.createDirectories(dir.resolve("logs"));
+        Files.writeString(logs.resolve("game1"), "");
+        GameConfig config = new GameConfig().setOutputDir(logs.toString()).setLogMode(LogMode.JOURNAL);
+
+        BatchRunner.Outcome[] outcomes = new BatchRunner.Outcome[2];
+        try (BatchRunner runner = new BatchRunner(2, config)) {
+            Iterator<BatchRunner.Outcome> iterator = runner.runAll(List.of(pack.toString(), pack.toString()), 0, 4);
+            while (iterator.hasNext()) {
+                BatchRunner.Outcome outcome = iterator.next();
+                outcomes[outcome.index] = outcome;
+            }
+        }
+        assertEquals(1, outcomes[0].result.winner);
+        assertNull(outcomes[1].result);
+        assertTrue(outcomes[1].error.startsWith("java.io.UncheckedIOException"));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        try (BatchRunner runner = new BatchRunner(1, new GameConfig().setOutputDir(null))) {
+            List<String> files = List.of(dir.resolve("pack.txt").toString());
+            assertThrows(IllegalArgumentException.class, () -> runner.runAll(files, 0, 0));
+            assertThrows(IllegalArgumentException.class, () -> runner.runAll(files, 0, -4));
+            assertThrows(IllegalArgumentException.class, () -> runner.runAll(files, -1, 4));
+        }
+    }
+}
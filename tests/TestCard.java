@@ -0,0 +1,38 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+import src.Card;
+
+public class TestCard {
+    @Test
+    public void testValueOfShared() {
+        assertSame(Card.valueOf(0), Card.valueOf(0));
+        assertSame(Card.valueOf(7), Card.valueOf(7));
+        assertSame(Card.valueOf((1 << 24) - 1), Card.valueOf((1 << 24) - 1));
+        assertNotSame(Card.valueOf(7), Card.valueOf(8));
+        assertEquals(4096, Card.valueOf(4096).value);
+    }
+
+    @Test
+    public void testValueOfOutsideCache() {
+        assertEquals(1 << 24, Card.valueOf(1 << 24).value);
+        assertEquals(Integer.MAX_VALUE, Card.valueOf(Integer.MAX_VALUE).value);
+        assertEquals(-1, Card.valueOf(-1).value);
+    }
+
+    @Test
+    public void testValueOfConcurrent() {
+        // every thread must end up with the same card for a value
+        ConcurrentHashMap<Integer, Card> seen = new ConcurrentHashMap<>();
+        IntStream.range(0, 1 << 16).parallel().forEach(i -> {
+            Card card = Card.valueOf(100000 + i % 5000);
+            assertSame(card, seen.computeIfAbsent(card.value, value -> card));
+        });
+    }
+}
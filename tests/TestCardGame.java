@@ -1,6 +1,10 @@
 package tests;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.fail;
 
 import java.io.ByteArrayInputStream;
@@ -13,15 +17,21 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.NoSuchElementException;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import src.CardGame;
+import src.Deck;
+import src.GameConfig;
+import src.GameResult;
 import src.Pack;
 import src.Card;
 import src.exceptions.InvalidPack;
+import src.utils.VirtualThreads;
 
 public class TestCardGame {
     ByteArrayOutputStream outContent = new ByteArrayOutputStream();
@@ -34,6 +44,7 @@ public class TestCardGame {
         "invalidPackNegativeInteger.txt",
         "4PlayersValidPack.txt"
     };
+    private final Path streamedPack = Path.of("streamedPack.txt");
 
     @Before
     public void setUp(){
@@ -50,6 +61,7 @@ public class TestCardGame {
                 Files.delete(Path.of(filename));
             }
         }
+        Files.deleteIfExists(streamedPack);
     }
 
     public static int substringCount(String str, String subStr) {
@@ -159,4 +171,78 @@ public class TestCardGame {
             }
         }
     }
+
+    private static int[] values(Card[] cards) {
+        int[] values = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            values[i] = cards[i].value;
+        }
+        return values;
+    }
+
+    @Test
+    public void testSimulateFromFile() throws InvalidPack, IOException, InterruptedException{
+        Pack pack = TestSimulationEngine.lapPack(5);
+        pack.writeToFile(streamedPack.toString());
+        GameConfig config = new GameConfig().setOutputDir(null);
+
+        CardGame fromPack = CardGame.simulate(pack, config);
+        CardGame fromFile = CardGame.simulate(streamedPack.toString(), 5, Pack.DEFAULT_HAND_SIZE, config);
+        GameResult expected = fromPack.getResult();
+        GameResult result = fromFile.getResult();
+        assertEquals(expected.winner, result.winner);
+        assertEquals(expected.turns, result.turns);
+        for (int i = 0; i < 5; i++) {
+            assertArrayEquals(values(fromPack.getPlayers()[i].getHand()), values(fromFile.getPlayers()[i].getHand()));
+            Deck deck = fromFile.getDecks()[i];
+            assertEquals(i+1, deck.getDeckNumber());
+            assertArrayEquals(values(fromPack.getDecks()[i].toArray()), values(deck.toArray()));
+        }
+    }
+
+    @Test
+    public void testStartFromFileStopsAtFirstBadLine() throws IOException{
+        GameConfig config = new GameConfig().setOutputDir(null);
+        // a later line is not an integer, the first bad line is reported
+        Files.writeString(streamedPack, "1\n2\n-3\n4\nfive\n6\n7\n8\n");
+        InvalidPack e = assertThrows(InvalidPack.class, () -> CardGame.start(streamedPack.toString(), 1, 4, config));
+        assertEquals("Line 3 is not positive integer: \"-3\"", e.getMessage());
+
+        Files.writeString(streamedPack, "1\n2\n3\n4\n5\n6\n7\n8\n9\nten\n");
+        e = assertThrows(InvalidPack.class, () -> CardGame.start(streamedPack.toString(), 1, 4, config));
+        assertEquals("File's line count must be 8 times player amount (8 lines), instead found >8 lines", e.getMessage());
+
+        Files.writeString(streamedPack, "1\n2\n3\n");
+        e = assertThrows(InvalidPack.class, () -> CardGame.simulate(streamedPack.toString(), 1, 4, config));
+        assertEquals("File line count must be 8 times player amount (8), is instead 3", e.getMessage());
+    }
+
+    @Test
+    public void testExecutorModes() throws InvalidPack, InterruptedException{
+        Pack pack = TestSimulationEngine.lapPack(4);
+
+        // a platform thread per player
+        GameConfig config = new GameConfig().setOutputDir(null);
+        assertNull(config.getExecutor());
+        assertEquals(1, CardGame.start(pack, config).getResult().winner);
+
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try {
+            assertEquals(1, CardGame.start(pack, new GameConfig(config).setExecutor(pool)).getResult().winner);
+        } finally {
+            pool.shutdown();
+        }
+
+        if (VirtualThreads.isSupported()) {
+            GameConfig virtual = new GameConfig(config).useVirtualThreads();
+            assertNotNull(virtual.getExecutor());
+            assertEquals(1, CardGame.start(pack, virtual).getResult().winner);
+        } else {
+            // Older JVMs refuse and the config keeps running players on platform threads
+            assertThrows(UnsupportedOperationException.class, () -> config.useVirtualThreads());
+            assertThrows(UnsupportedOperationException.class, () -> VirtualThreads.newVirtualThreadPerTaskExecutor());
+            assertNull(config.getExecutor());
+            assertEquals(1, CardGame.start(pack, config).getResult().winner);
+        }
+    }
 }
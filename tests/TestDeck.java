@@ -5,6 +5,7 @@ import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
 import java.util.NoSuchElementException;
 
 import org.junit.Test;
@@ -61,4 +62,21 @@ public class TestDeck {
             fail("consumer not woken up by producer");
         }
     }
+
+    @Test
+    public void testAddAllAndDrainTo(){
+        Deck deck = new Deck(0, new Card[]{new Card(1)});
+        deck.addAll(new Card[]{new Card(2), new Card(3), new Card(4)});
+        assertEquals("[1, 2, 3, 4]", deck.toString());
+        assertThrows(NullPointerException.class, () -> deck.addAll(new Card[]{new Card(5), null}));
+        assertEquals("[1, 2, 3, 4]", deck.toString());
+
+        Card[] drawn = new Card[3];
+        assertEquals(3, deck.drainTo(drawn));
+        assertEquals("[1, 2, 3]", Arrays.toString(drawn));
+        assertEquals(1, deck.drainTo(drawn));
+        assertEquals(4, drawn[0].value);
+        assertEquals(0, deck.drainTo(drawn));
+        assertTrue(deck.isEmpty());
+    }
 }
@@ -0,0 +1,79 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import org.junit.After;
+import org.junit.Test;
+
+import src.CardGame;
+import src.GameConfig;
+import src.GameResult;
+
+public class TestGameEvents {
+    private final Path recordingFile = Path.of("testGameEvents.jfr");
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(recordingFile);
+    }
+
+    private List<RecordedEvent> record(Recording recording, String name) throws IOException {
+        recording.dump(recordingFile);
+        return RecordingFile.readAllEvents(recordingFile).stream()
+            .filter(event -> event.getEventType().getName().equals(name))
+            .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testTurnsAndWin() throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable("src.Turn");
+            recording.enable("src.Win");
+            recording.start();
+            CardGame game = CardGame.simulate(TestSimulationEngine.lapPack(5), new GameConfig().setOutputDir(null));
+            recording.stop();
+            GameResult result = game.getResult();
+
+            List<RecordedEvent> turns = record(recording, "src.Turn");
+            assertEquals(result.turns, turns.size());
+            for (RecordedEvent turn : turns) {
+                int player = turn.getInt("player");
+                // each player discards to the deck on its right and draws from the deck on its left
+                assertEquals(player, turn.getInt("drawDeck"));
+                assertEquals(player % 5 + 1, turn.getInt("discardDeck"));
+            }
+
+            List<RecordedEvent> wins = record(recording, "src.Win");
+            assertEquals(1, wins.size());
+            assertEquals(result.winner, wins.get(0).getInt("player"));
+        }
+    }
+
+    @Test
+    public void testDeckWaits() throws Exception {
+        try (Recording recording = new Recording()) {
+            recording.enable("src.DeckWait").withThreshold(Duration.ZERO);
+            recording.start();
+            CardGame game = CardGame.start(TestSimulationEngine.lapPack(8), new GameConfig().setOutputDir(null));
+            game.awaitFinish();
+            recording.stop();
+
+            for (RecordedEvent wait : record(recording, "src.DeckWait")) {
+                assertTrue(wait.getInt("deck") >= 1 && wait.getInt("deck") <= 8);
+                assertEquals(500, wait.getLong("timeout"));
+            }
+        }
+    }
+}
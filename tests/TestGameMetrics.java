@@ -0,0 +1,126 @@
+package tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.Test;
+
+import src.CardGame;
+import src.GameConfig;
+import src.GameResult;
+import src.Pack;
+import src.Player;
+import src.metrics.GameMetrics;
+import src.metrics.LatencyHistogram;
+import src.metrics.StripedCounter;
+
+public class TestGameMetrics {
+    @Test
+    public void testSimulatedGame() throws Exception {
+        CardGame game = CardGame.simulate(
+            TestSimulationEngine.lapPack(5), new GameConfig().setOutputDir(null).setMetricsEnabled(true)
+        );
+        GameMetrics metrics = game.getMetrics();
+        GameResult result = game.getResult();
+
+        long[] turns = new long[5];
+        for (Player player : game.getPlayers()) {
+            turns[player.getPlayerNumber() - 1] = player.getTurns();
+        }
+        assertArrayEquals(turns, metrics.getTurnsPerPlayer());
+        assertEquals(result.turns, metrics.getTurns());
+        assertEquals(result.winner, metrics.getWinner());
+        assertTrue(metrics.getWinNanos() >= 0);
+
+        // every card not in a hand is in a deck
+        int cards = 0;
+        for (int depth : metrics.getDeckDepths()) {
+            cards += depth;
+        }
+        assertEquals(4*5, cards);
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = metrics.register();
+        assertEquals(result.turns, server.getAttribute(name, "Turns"));
+        assertEquals(5, server.getAttribute(name, "PlayerAmount"));
+        game.unregisterMetrics();
+        assertFalse(server.isRegistered(name));
+    }
+
+    @Test
+    public void testThreadedGame() throws Exception {
+        CardGame game = CardGame.start(
+            TestSimulationEngine.lapPack(5), new GameConfig().setOutputDir(null).setMetricsEnabled(true)
+        );
+        GameResult result = game.getResult();
+        GameMetrics metrics = game.getMetrics();
+        assertEquals(result.turns, metrics.getTurns());
+        assertEquals(result.winner, metrics.getWinner());
+        long waits = 0;
+        for (long count : metrics.getWaitHistogram()) {
+            waits += count;
+        }
+        assertEquals(metrics.getWaitCount(), waits);
+        game.unregisterMetrics();
+
+        // One player's left deck is also its right deck, so it is never empty and nothing is a wait
+        game = CardGame.start(
+            new Pack(new int[]{1, 1, 1, 2, 3, 4, 5, 1}, 1), new GameConfig().setOutputDir(null).setMetricsEnabled(true)
+        );
+        assertEquals(4, game.getResult().turns);
+        assertEquals(0, game.getMetrics().getWaitCount());
+        game.unregisterMetrics();
+    }
+
+    @Test
+    public void testDisabled() throws Exception {
+        CardGame game = CardGame.simulate(TestSimulationEngine.lapPack(3), new GameConfig().setOutputDir(null));
+        assertNull(game.getMetrics());
+        game.unregisterMetrics();
+    }
+
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentileNanos(0.5));
+        for (int i = 0; i < 98; i++) {
+            histogram.record(100);  // below 128
+        }
+        histogram.record(5000);  // below 8192
+        histogram.record(0);
+        assertEquals(100, histogram.count());
+        assertEquals(98*100 + 5000, histogram.totalNanos());
+        assertEquals(127, histogram.percentileNanos(0.5));
+        assertEquals(127, histogram.percentileNanos(0.99));
+        assertEquals(8191, histogram.percentileNanos(1));
+        assertEquals(1, histogram.counts()[0]);
+    }
+
+    @Test
+    public void testStripedCounter() throws InterruptedException {
+        StripedCounter counter = new StripedCounter(4);
+        Thread[] threads = new Thread[4];
+        for (int i = 0; i < threads.length; i++) {
+            final int stripe = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 100_000; j++) {
+                    counter.add(stripe, stripe + 1);
+                }
+            });
+            threads[i].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertArrayEquals(new long[] {100_000, 200_000, 300_000, 400_000}, counter.toArray());
+        assertEquals(1_000_000, counter.sum());
+    }
+}
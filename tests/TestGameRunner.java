@@ -0,0 +1,64 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+
+import src.GameConfig;
+import src.GameResult;
+import src.GameRunner;
+import src.Pack;
+import src.exceptions.InvalidPack;
+import src.utils.FileIO;
+
+public class TestGameRunner {
+    private final String outputDir = "testRunnerOutput";
+
+    @After
+    public void tearDown() throws IOException {
+        FileIO.deleteRecursively(Path.of(outputDir));
+    }
+
+    @Test
+    public void testRunAll() throws InvalidPack {
+        List<Pack> packs = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            packs.add(TestSimulationEngine.lapPack(2 + i % 7));
+        }
+
+        Set<Integer> indices = new HashSet<>();
+        try (GameRunner runner = new GameRunner(4, new GameConfig().setOutputDir(null))) {
+            Iterator<GameResult> results = runner.runAll(packs);
+            while (results.hasNext()) {
+                GameResult result = results.next();
+                assertEquals(1, result.winner);
+                assertEquals(packs.get(result.index).playerAmount, result.playerAmount);
+                assertTrue(indices.add(result.index));
+            }
+        }
+        assertEquals(packs.size(), indices.size());
+    }
+
+    @Test
+    public void testSeparateOutput() throws InvalidPack {
+        List<Pack> packs = List.of(TestSimulationEngine.lapPack(2), TestSimulationEngine.lapPack(3));
+        try (GameRunner runner = new GameRunner(2, new GameConfig().setOutputDir(outputDir))) {
+            runner.runAll(packs).forEachRemaining(result -> {});
+        }
+        assertTrue(Files.exists(Path.of(outputDir, "game0", "Player2_output.txt")));
+        assertFalse(Files.exists(Path.of(outputDir, "game0", "Player3_output.txt")));
+        assertTrue(Files.exists(Path.of(outputDir, "game1", "deck3_output.txt")));
+    }
+}
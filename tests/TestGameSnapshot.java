@@ -0,0 +1,97 @@
+package tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import src.Card;
+import src.CardGame;
+import src.Deck;
+import src.DeckType;
+import src.GameConfig;
+import src.GameSnapshot;
+import src.Pack;
+import src.Player;
+import src.exceptions.InvalidPack;
+
+public class TestGameSnapshot {
+    /**
+     * Every card of the pack is in the snapshot exactly once
+     */
+    private static void assertConserved(Pack pack, GameSnapshot snapshot){
+        int[] expected = pack.getValues().clone();
+        int[] found = new int[expected.length];
+        assertEquals(expected.length, snapshot.getCardCount());
+        int position = 0;
+        for (int number = 1; number <= snapshot.getPlayerAmount(); number++) {
+            for (int value : snapshot.getHand(number)) {
+                found[position++] = value;
+            }
+            for (int value : snapshot.getDeck(number)) {
+                found[position++] = value;
+            }
+        }
+        Arrays.sort(expected);
+        Arrays.sort(found);
+        assertArrayEquals(expected, found);
+    }
+
+    @Test
+    public void testThreadedSnapshotsAreConsistent() throws InvalidPack, InterruptedException {
+        // Nobody can win, so cards keep moving until the game is ended below
+        Pack pack = TestSimulationEngine.loopPack(16);
+        for (DeckType deckType : DeckType.values()) {
+            GameConfig config = new GameConfig().setOutputDir(null).setDeckType(deckType).setSnapshotsEnabled(true);
+            CardGame game = CardGame.start(pack, config);
+            try {
+                for (int i = 0; i < 50; i++) {
+                    GameSnapshot snapshot = game.snapshot();
+                    assertEquals(i + 1, snapshot.epoch);
+                    assertEquals(4, snapshot.getHand(16).length);
+                    assertConserved(pack, snapshot);
+                    Thread.sleep(1);
+                }
+                long turns = 0;
+                for (Player player : game.getPlayers()) {
+                    turns += player.getTurns();
+                }
+                assertTrue(turns > 0);
+            } finally {
+                game.getState().endWithoutWinner();
+            }
+            game.awaitFinish();
+        }
+    }
+
+    @Test
+    public void testSnapshotOfFinishedGame() throws InvalidPack, InterruptedException {
+        CardGame game = CardGame.start(
+            TestSimulationEngine.lapPack(4), new GameConfig().setOutputDir(null).setSnapshotsEnabled(true)
+        );
+        game.awaitFinish();
+        GameSnapshot snapshot = game.snapshot();
+        assertConserved(TestSimulationEngine.lapPack(4), snapshot);
+        Player[] players = game.getPlayers();
+        Deck[] decks = game.getDecks();
+        for (int i = 0; i < players.length; i++) {
+            assertArrayEquals(values(players[i].getHand()), snapshot.getHand(i + 1));
+            assertArrayEquals(values(decks[i].toArray()), snapshot.getDeck(i + 1));
+        }
+    }
+
+    @Test
+    public void testSnapshotsDisabledByDefault() throws InvalidPack, InterruptedException {
+        CardGame game = CardGame.start(TestSimulationEngine.lapPack(4), new GameConfig().setOutputDir(null));
+        game.awaitFinish();
+        assertThrows(IllegalStateException.class, () -> game.snapshot());
+    }
+
+    private static int[] values(Card[] cards){
+        return Arrays.stream(cards).mapToInt(card -> card.value).toArray();
+    }
+}
@@ -0,0 +1,67 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import src.Card;
+import src.GameState;
+import src.Player;
+
+public class TestGameState {
+    @Test
+    public void testDeclareWin(){
+        GameState state = new GameState();
+        Player player1 = new Player(1, null, null, new Card[]{}, state);
+        Player player2 = new Player(2, null, null, new Card[]{}, state);
+        AtomicInteger wins = new AtomicInteger();
+        state.onWin(wins::incrementAndGet);
+
+        assertFalse(state.isWon());
+        assertNull(state.wonBy());
+        assertTrue(state.declareWin(player1));
+        assertFalse(state.declareWin(player2));
+        assertFalse(state.declareWin(player1));
+        assertTrue(state.isWon());
+        assertSame(player1, state.wonBy());
+        assertEquals(1, wins.get());
+    }
+
+    @Test
+    public void testOneWinnerWhenRacing() throws InterruptedException{
+        for (int round = 0; round < 50; round++) {
+            GameState state = new GameState();
+            AtomicInteger wins = new AtomicInteger();
+            AtomicInteger winners = new AtomicInteger();
+            state.onWin(wins::incrementAndGet);
+
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] threads = new Thread[4];
+            for (int i = 0; i < threads.length; i++) {
+                Player player = new Player(i+1, null, null, new Card[]{}, state);
+                threads[i] = new Thread(() -> {
+                    try {
+                        start.await();
+                    } catch (InterruptedException ignored) {}
+                    if (state.declareWin(player)) {
+                        winners.incrementAndGet();
+                    }
+                });
+                threads[i].start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            assertEquals(1, winners.get());
+            assertEquals(1, wins.get());
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Test;
+
+import src.Card;
+import src.CardGame;
+import src.Deck;
+import src.DeckType;
+import src.GameConfig;
+import src.Pack;
+import src.Player;
+import src.exceptions.InvalidJournal;
+import src.exceptions.InvalidPack;
+import src.logging.JournalReplayer;
+import src.logging.LogMode;
+import src.utils.FileIO;
+
+public class TestJournal {
+    private final String outputDir = "testJournalOutput";
+
+    @After
+    public void tearDown() throws IOException {
+        FileIO.deleteRecursively(Path.of(outputDir));
+    }
+
+    private static List<String> fileNames(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString()).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private void assertReplaysText(Pack pack) throws IOException, InvalidJournal {
+        CardGame.simulate(pack, new GameConfig().setOutputDir(outputDir+"/text"));
+        CardGame.simulate(pack, new GameConfig().setLogMode(LogMode.JOURNAL).setOutputDir(outputDir+"/journal"));
+        new JournalReplayer(outputDir+"/replay").replay(Path.of(outputDir, "journal", "game.journal"));
+
+        Path expectedDir = Path.of(outputDir, "text");
+        Path replayDir = Path.of(outputDir, "replay");
+        List<String> expectedFiles = fileNames(expectedDir);
+        assertEquals(2 * pack.playerAmount, expectedFiles.size());
+        assertEquals(expectedFiles, fileNames(replayDir));
+        for (String file : expectedFiles) {
+            assertArrayEquals(
+                file,
+                Files.readAllBytes(expectedDir.resolve(file)),
+                Files.readAllBytes(replayDir.resolve(file))
+            );
+        }
+    }
+
+    @Test
+    public void testReplayMatchesText() throws InvalidPack, IOException, InvalidJournal {
+        assertReplaysText(TestSimulationEngine.lapPack(5));
+    }
+
+    @Test
+    public void testReplayRepeatedValues() throws InvalidPack, IOException, InvalidJournal {
+        // few distinct values, so turns often swap a card for one of the same value
+        Random random = new Random(7);
+        int[] values = new int[8*3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1 + random.nextInt(3);
+        }
+        assertReplaysText(new Pack(values, 3));
+    }
+
+    @Test
+    public void testReplayThreadedGame() throws InvalidPack, IOException, InvalidJournal, InterruptedException {
+        CardGame game = CardGame.start(TestSimulationEngine.lapPack(8), new GameConfig()
+            .setDeckType(DeckType.RING)
+            .setLogMode(LogMode.JOURNAL)
+            .setOutputDir(outputDir));
+        game.awaitFinish();
+
+        JournalReplayer replayer = new JournalReplayer(null);
+        replayer.replay(Path.of(outputDir, "game.journal"));
+        for (Player player : game.getPlayers()) {
+            int[] hand = new int[player.getHand().length];
+            for (int i = 0; i < hand.length; i++) {
+                hand[i] = player.getHand()[i].value;
+            }
+            assertArrayEquals(hand, replayer.getHand(player.getPlayerNumber()));
+        }
+        for (Deck deck : game.getDecks()) {
+            Card[] cards = deck.toArray();
+            int[] values = new int[cards.length];
+            for (int i = 0; i < cards.length; i++) {
+                values[i] = cards[i].value;
+            }
+            assertArrayEquals(values, replayer.getDeck(deck.getDeckNumber()));
+        }
+    }
+
+    @Test
+    public void testNotAJournal() throws IOException {
+        Files.createDirectories(Path.of(outputDir));
+        Path file = Path.of(outputDir, "pack.txt");
+        Files.writeString(file, "1\n2\n3\n4\n5\n6\n7\n8\n9\n10\n11\n12\n13\n14\n15\n16\n");
+        try {
+            new JournalReplayer(null).replay(file);
+            fail("Replayed a file that is not a journal");
+        } catch (InvalidJournal e) {
+            assertEquals("Not a game journal", e.getMessage());
+        }
+    }
+}
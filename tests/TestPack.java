@@ -2,6 +2,13 @@ package tests;
 
 import static org.junit.Assert.*;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.After;
 import org.junit.Test;
 
 import src.Pack;
@@ -17,6 +24,17 @@ public class TestPack {
     private String[] more8n = new String[] {"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16", "17"};
     private String[] nullPack = new String[8*playerAmount];
     private String[] validPack = new String[] {"1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15", "16"};
+    private final Path packFile = Path.of("testPackFile.txt");
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(packFile);
+    }
+
+    private String readError(String contents) throws IOException {
+        Files.writeString(packFile, contents);
+        return assertThrows(InvalidPack.class, () -> Pack.readPack(packFile.toString(), 1)).getMessage();
+    }
 
     @Test
     public void testGeneratePack() throws InvalidPlayerAmount{
@@ -28,6 +46,25 @@ public class TestPack {
         assertEquals(8*playerAmount, pack.getCards().length);
     }
 
+    @Test
+    public void testGeneratePackSeeded() throws InvalidPlayerAmount, InterruptedException, ExecutionException{
+        // several chunks, so generated in parallel
+        int players = 20000;
+        Pack pack = Pack.generatePack(players, 4, 42);
+        assertEquals(8*players, pack.getCards().length);
+        for (Card card : pack.getCards()) {
+            assertTrue(card.value >= 1 && card.value <= players);
+        }
+
+        // same pack on one thread
+        ForkJoinPool pool = new ForkJoinPool(1);
+        Pack singleThreaded = pool.submit(() -> Pack.generatePack(players, 4, 42)).get();
+        pool.shutdown();
+        assertEquals(pack.toString(), singleThreaded.toString());
+
+        assertNotEquals(pack.toString(), Pack.generatePack(players, 4, 43).toString());
+    }
+
     @Test
     public void testValidatePack() throws InvalidPack{
         assertThrows(InvalidPack.class, () -> Pack.validatePack(notPositive, playerAmount));
@@ -40,4 +77,95 @@ public class TestPack {
             assertEquals(String.valueOf(cards[i].value), validPack[i]);
         }
     }
+
+    @Test
+    public void testValues() throws InvalidPack{
+        int[] values = new int[] {1, 2, 3, 4, 5, 6, 7, 8, 1, 2, 3, 4, 5, 6, 7, 8};
+        Pack pack = new Pack(values, playerAmount);
+        values[0] = 99;  // the pack keeps its own copy
+        assertEquals(1, pack.valueAt(0));
+        assertEquals(16, pack.size());
+        assertArrayEquals(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 1, 2, 3, 4, 5, 6, 7, 8}, pack.getValues());
+
+        // equal values deal the same card
+        Card[] cards = pack.getCards();
+        assertSame(cards[0], cards[8]);
+        assertSame(cards[0], pack.iterator().next());
+    }
+
+    @Test
+    public void testViews() throws InvalidPack{
+        int[] values = new int[2*3*4];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        Pack pack = new Pack(values, 4, 3);
+        assertEquals(3, pack.hand(1).size());
+        assertEquals(5, pack.hand(1).valueAt(1));
+        assertEquals(15, pack.deck(3).valueAt(0));
+        assertSame(Card.valueOf(22), pack.deck(2).cardAt(2));
+        Card[] cards = pack.deck(0).toCards();
+        for (int i = 0; i < cards.length; i++) {
+            assertEquals(12 + 4*i, cards[i].value);
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> pack.hand(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> pack.deck(0).valueAt(3));
+    }
+
+    @Test
+    public void testHandSize() throws InvalidPack, InvalidPlayerAmount{
+        // 16 cards are 2 players with hands of 4, or 1 player with a hand of 8
+        Card[] cards = Pack.validatePack(validPack, 1, 8);
+        assertEquals(16, cards.length);
+        InvalidPack e = assertThrows(InvalidPack.class, () -> Pack.validatePack(validPack, 2, 8));
+        assertEquals("Array length must be 16 times player amount (32), is instead 16", e.getMessage());
+        e = assertThrows(InvalidPack.class, () -> Pack.validatePack(less8n, playerAmount));
+        assertEquals("Array length must be 8 times player amount (16), is instead 15", e.getMessage());
+
+        Pack pack = Pack.generatePack(3, 16);
+        assertEquals(16, pack.handSize);
+        assertEquals(2*16*3, pack.getCards().length);
+    }
+
+    @Test
+    public void testReadPack() throws IOException, InvalidPack {
+        Files.writeString(packFile, "1\n2\r\n3\r4\n+5\n-0\n007\n2147483647");
+        Pack pack = Pack.readPack(packFile.toString(), 1);
+        int[] expected = new int[] {1, 2, 3, 4, 5, 0, 7, Integer.MAX_VALUE};
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], pack.getCards()[i].value);
+        }
+
+        assertEquals("Line 3 is not integer: \"six\"", readError("1\n2\nsix\n4\n5\n6\n7\n8\n"));
+        assertEquals("Line 2 is not integer: \"\"", readError("1\n\n3\n4\n5\n6\n7\n8\n"));
+        assertEquals("Line 1 is not integer: \" 1\"", readError(" 1\n2\n3\n4\n5\n6\n7\n8\n"));
+        assertEquals("Line 8 is not integer: \"2147483648\"", readError("1\n2\n3\n4\n5\n6\n7\n2147483648"));
+        assertEquals("Line 2 is not positive integer: \"-2\"", readError("1\n-2\n3\n4\n5\n6\n7\n8\n"));
+        assertEquals(
+            "File line count must be 8 times player amount (8), is instead 7",
+            readError("1\n2\n3\n4\n5\n6\n7\n")
+        );
+        // not integer is reported before the line count, too many lines before anything else
+        assertEquals("Line 2 is not integer: \"x\"", readError("1\nx\n3\n"));
+        assertEquals(
+            "File's line count must be 8 times player amount (8 lines), instead found >8 lines",
+            readError("1\nx\n3\n4\n5\n6\n7\n8\n9\n")
+        );
+        assertEquals(
+            "File's line count must be 8 times player amount (8 lines), instead found >8 lines",
+            readError("1\n2\n3\n4\n5\n6\n7\n8\n\n")
+        );
+    }
+
+    @Test
+    public void testWriteToFile() throws IOException, InvalidPack, InvalidPlayerAmount {
+        Pack pack = new Pack(new int[] {0, 1, 9, 10, 99, 100, 12345, Integer.MAX_VALUE}, 1);
+        pack.writeToFile(packFile.toString());
+        assertEquals("0\n1\n9\n10\n99\n100\n12345\n2147483647\n", Files.readString(packFile));
+
+        // several chunks, written without building the pack
+        Pack.writeGeneratedPack(packFile.toString(), 20000, 4, 7);
+        assertEquals(Pack.generatePack(20000, 4, 7).toString(), Files.readString(packFile));
+        assertEquals(8*20000, Pack.readPack(packFile.toString(), 20000).getCards().length);
+    }
 }
@@ -0,0 +1,102 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import src.CardGame;
+import src.GameConfig;
+import src.GameResult;
+import src.Pack;
+import src.PackAnalysis;
+import src.exceptions.InvalidPack;
+import src.utils.FileIO;
+
+public class TestPackAnalysis {
+    private final String outputDir = "testPackAnalysisOutput";
+
+    @After
+    public void tearDown() throws IOException {
+        FileIO.deleteRecursively(Path.of(outputDir));
+    }
+
+    @Test
+    public void testPreferredCounts() throws InvalidPack {
+        PackAnalysis analysis = PackAnalysis.of(TestSimulationEngine.lapPack(3));
+        assertEquals(3, analysis.playerAmount);
+        assertEquals(4, analysis.preferredInPack(1));
+        assertEquals(3, analysis.preferredInHand(1));
+        assertEquals(0, analysis.preferredInPack(2));
+        assertTrue(analysis.canCollectPreferred(1));
+        assertFalse(analysis.canCollectPreferred(3));
+        assertEquals(1, analysis.getReachablePlayers());
+        assertEquals(4, analysis.getMostCopies());
+        assertTrue(analysis.isWinnable());
+        assertEquals(0, analysis.getInitialWinner());
+        assertFalse(analysis.isOutcomeKnown());
+        assertThrows(IndexOutOfBoundsException.class, () -> analysis.preferredInPack(4));
+    }
+
+    @Test
+    public void testWinnable() throws InvalidPack {
+        PackAnalysis analysis = PackAnalysis.of(TestSimulationEngine.loopPack(3));
+        assertEquals(1, analysis.getMostCopies());
+        assertFalse(analysis.isWinnable());
+        assertTrue(analysis.isOutcomeKnown());
+
+        // four copies of a value nobody prefers are enough for someone to win with
+        int[] nums = TestSimulationEngine.loopPack(3).getValues().clone();
+        for (int i = 0; i < 4; i++) {
+            nums[5*i] = 100;
+        }
+        analysis = PackAnalysis.of(new Pack(nums, 3));
+        assertEquals(4, analysis.getMostCopies());
+        assertTrue(analysis.isWinnable());
+        assertEquals(0, analysis.getReachablePlayers());
+    }
+
+    @Test
+    public void testInitialWinner() throws InvalidPack {
+        int[] nums = TestSimulationEngine.loopPack(3).getValues().clone();
+        // hands are dealt one card to each player in turn, players 2 and 3 get a winning hand
+        for (int round = 0; round < 4; round++) {
+            nums[3*round + 1] = 50;
+            nums[3*round + 2] = 3;
+        }
+        PackAnalysis analysis = PackAnalysis.of(new Pack(nums, 3));
+        assertEquals(2, analysis.getInitialWinner());
+        assertEquals(4, analysis.preferredInHand(3));
+        assertTrue(analysis.isOutcomeKnown());
+    }
+
+    @Test
+    public void testKnownOutcomeStartsNoPlayers() throws InvalidPack, InterruptedException, IOException {
+        int[] nums = new int[8*3];
+        Arrays.fill(nums, 2);
+        CardGame game = CardGame.start(new Pack(nums, 3), new GameConfig().setOutputDir(outputDir));
+        GameResult result = game.getResult();
+        assertEquals(1, result.winner);
+        assertEquals(0, result.turns);
+        List<String> log = Files.readAllLines(Path.of(outputDir, "Player3_output.txt"));
+        assertEquals("player 1 has informed player 3 that player 1 has won", log.get(1));
+
+        // nobody can win, only ended at once when asked to detect stalls
+        GameConfig config = new GameConfig().setStallDetectionEnabled(true).setOutputDir(outputDir);
+        result = CardGame.start(TestSimulationEngine.loopPack(3), config).getResult();
+        assertEquals(0, result.winner);
+        assertEquals(0, result.turns);
+        log = Files.readAllLines(Path.of(outputDir, "Player3_output.txt"));
+        assertEquals("player 3 has been informed that nobody can win", log.get(1));
+        assertTrue(Files.exists(Path.of(outputDir, "deck3_output.txt")));
+    }
+}
@@ -0,0 +1,124 @@
+package tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Test;
+
+import src.Card;
+import src.Pack;
+import src.PackArchive;
+import src.exceptions.InvalidPack;
+import src.utils.FileIO;
+
+public class TestPackArchive {
+    private final String outputDir = "testArchiveOutput";
+    private final String archive = outputDir+"/packs.bin";
+
+    @After
+    public void tearDown() throws IOException {
+        FileIO.deleteRecursively(Path.of(outputDir));
+    }
+
+    private static int[] values(Pack pack) {
+        Card[] cards = pack.getCards();
+        int[] values = new int[cards.length];
+        for (int i = 0; i < cards.length; i++) {
+            values[i] = cards[i].value;
+        }
+        return values;
+    }
+
+    private List<Pack> writePacks(int amount) throws IOException, InvalidPack {
+        Files.createDirectories(Path.of(outputDir));
+        Random random = new Random(3);
+        List<Pack> packs = new ArrayList<>();
+        try (PackArchive.Writer writer = PackArchive.create(archive)) {
+            for (int i = 0; i < amount; i++) {
+                int players = 1 + random.nextInt(20);
+                int handSize = 1 + random.nextInt(6);
+                int[] values = new int[2*handSize*players];
+                for (int j = 0; j < values.length; j++) {
+                    // small values take one byte, some need the full five
+                    values[j] = random.nextInt(4) == 0 ? random.nextInt(Integer.MAX_VALUE) : random.nextInt(100);
+                }
+                Pack pack = new Pack(values, players, handSize);
+                packs.add(pack);
+                writer.add(pack);
+            }
+        }
+        return packs;
+    }
+
+    @Test
+    public void testRandomAccess() throws IOException, InvalidPack {
+        List<Pack> packs = writePacks(300);
+        try (PackArchive packArchive = PackArchive.open(archive)) {
+            assertEquals(packs.size(), packArchive.size());
+            for (int i = packs.size() - 1; i >= 0; i -= 7) {
+                Pack pack = packArchive.get(i);
+                assertEquals(packs.get(i).playerAmount, packArchive.playerAmount(i));
+                assertEquals(packs.get(i).playerAmount, pack.playerAmount);
+                assertEquals(packs.get(i).handSize, pack.handSize);
+                assertArrayEquals(values(packs.get(i)), values(pack));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> packArchive.get(packs.size()));
+        }
+    }
+
+    @Test
+    public void testTextRoundTrip() throws IOException, InvalidPack {
+        List<Pack> packs = writePacks(20);
+        PackArchive.toTextFiles(archive, outputDir+"/text");
+
+        String[] textFiles = new String[packs.size()];
+        for (int i = 0; i < packs.size(); i++) {
+            textFiles[i] = outputDir+"/text/pack"+i+".txt";
+            assertEquals(packs.get(i).toString(), Files.readString(Path.of(textFiles[i])));
+        }
+
+        // hand size is not stored in text, so only packs of one hand size convert back as they were
+        List<String> handSizeFour = new ArrayList<>();
+        List<Pack> expected = new ArrayList<>();
+        for (int i = 0; i < packs.size(); i++) {
+            if (packs.get(i).handSize == 4) {
+                handSizeFour.add(textFiles[i]);
+                expected.add(packs.get(i));
+            }
+        }
+        String copy = outputDir+"/copy.bin";
+        PackArchive.fromTextFiles(copy, 4, handSizeFour.toArray(new String[0]));
+        try (PackArchive packArchive = PackArchive.open(copy)) {
+            assertEquals(expected.size(), packArchive.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).playerAmount, packArchive.get(i).playerAmount);
+                assertArrayEquals(values(expected.get(i)), values(packArchive.get(i)));
+            }
+        }
+
+        String bad = outputDir+"/text/bad.txt";
+        Files.writeString(Path.of(bad), "1\n2\n3\n");
+        InvalidPack e = assertThrows(
+            InvalidPack.class, () -> PackArchive.fromTextFiles(copy, 4, handSizeFour.get(0), bad)
+        );
+        assertEquals(bad+": File line count must be a multiple of 8, is instead 3", e.getMessage());
+    }
+
+    @Test
+    public void testNotAnArchive() throws IOException {
+        Files.createDirectories(Path.of(outputDir));
+        Files.writeString(Path.of(archive), "1\n2\n3\n4\n5\n6\n7\n8\n");
+        InvalidPack e = assertThrows(InvalidPack.class, () -> PackArchive.open(archive));
+        assertEquals("Not a pack archive", e.getMessage());
+    }
+}
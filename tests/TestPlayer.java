@@ -8,7 +8,6 @@ import static org.junit.Assert.assertTrue;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.LinkedList;
 import java.util.concurrent.LinkedBlockingQueue;
 
 import org.junit.Before;
@@ -16,7 +15,9 @@ import org.junit.Test;
 
 import src.Card;
 import src.Deck;
+import src.GameState;
 import src.Player;
+import src.utils.IntQueue;
 
 public class TestPlayer {
     Method checkPreferred;
@@ -60,8 +61,8 @@ public class TestPlayer {
 
         preferredCardAmount = (int) this.preferredCardAmount.get(player1);
         assertEquals(preferredCardAmount, 1);
-        LinkedList<Integer> toDiscard = (LinkedList<Integer>) this.toDiscard.get(player1);
-        assertArrayEquals(toDiscard.toArray(), new Integer[]{12});
+        IntQueue toDiscard = (IntQueue) this.toDiscard.get(player1);
+        assertArrayEquals(toDiscard.toArray(), new int[]{12});
     }
 
     @Test
@@ -115,4 +116,37 @@ public class TestPlayer {
         player1 = new Player(1, null, null, notWinningHand, null);
         assertFalse(player1.isWinningHand());
     }
+
+    @Test
+    public void testIsWinningHandAfterDraw() throws IllegalAccessException, IllegalArgumentException, InvocationTargetException {
+        Card[] hand = new Card[8];
+        for (int i = 0; i < 8; i++) {
+            hand[i] = new Card(i < 7 ? 1 : 5);
+        }
+        Deck leftDeck = new Deck(0, new Card[]{new Card(1)});
+        Player player1 = new Player(1, leftDeck, new Deck(0, null), hand, null);
+        assertFalse(player1.isWinningHand());
+
+        discardAndDraw.invoke(player1, 7);
+        assertTrue(player1.isWinningHand());
+    }
+
+    @Test
+    public void testTakeTurnSkipsEmptyLeftDeck(){
+        Deck leftDeck = new Deck(1, new Card[]{});
+        Deck rightDeck = new Deck(2, new Card[]{});
+        Card[] hand = new Card[]{new Card(1), new Card(2), new Card(3), new Card(1)};
+        Player player1 = new Player(1, leftDeck, rightDeck, hand, new GameState());
+
+        assertFalse(player1.takeTurn());
+        assertEquals(0, player1.getTurns());
+        assertTrue(rightDeck.isEmpty());
+        assertEquals(2, player1.getHand()[1].value);
+
+        leftDeck.addCard(new Card(1));
+        assertTrue(player1.takeTurn());
+        assertEquals(1, player1.getTurns());
+        assertEquals(2, rightDeck.drawCard().value);
+        assertEquals(1, player1.getHand()[1].value);
+    }
 }
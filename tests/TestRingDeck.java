@@ -0,0 +1,159 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import src.Card;
+import src.Deck;
+import src.RingDeck;
+
+public class TestRingDeck {
+    @Test
+    public void testAddAndRemoveCard(){
+        Deck deck = new RingDeck(0, null, 4);
+        Card addedCard = new Card(0);
+        deck.addCard(addedCard);
+        deck.addCard(new Card(123));
+        assertEquals(deck.toString(), "[0, 123]");
+        Card card = deck.drawCard();
+        assertEquals(card, addedCard);
+        assertEquals(deck.toString(), "[123]");
+        assertThrows(NullPointerException.class, () -> deck.addCard(null));
+        deck.drawCard();
+        assertThrows(NoSuchElementException.class, () -> deck.drawCard());
+    }
+
+    @Test
+    public void testCapacity(){
+        Deck deck = new RingDeck(0, new Card[]{new Card(1), new Card(2), new Card(3)}, 3);
+        deck.addCard(new Card(4));  // rounded up to 4
+        assertThrows(IllegalStateException.class, () -> deck.addCard(new Card(5)));
+
+        // indices wrap around the ring
+        for (int i = 0; i < 10; i++) {
+            deck.addCard(deck.drawCard());
+        }
+        assertEquals(deck.toString(), "[3, 4, 1, 2]");
+        assertThrows(IllegalArgumentException.class, () -> new RingDeck(0, new Card[]{new Card(1), new Card(2)}, 1));
+    }
+
+    @Test
+    public void testWaitNotify() throws InterruptedException{
+        Deck deck = new RingDeck(0, null, 4);
+        assertTrue(deck.waitForCard(10));
+
+        long[] timeTaken = new long[1];
+        Thread consumer = new Thread(() -> {
+            long startTime = System.nanoTime();
+            deck.waitForCard(1000);
+            timeTaken[0] = System.nanoTime() - startTime;
+        });
+        consumer.start();
+        Thread.sleep(50);
+        deck.addCard(new Card(0));
+        consumer.join();
+
+        assertTrue("consumer not woken up by producer", timeTaken[0] < 990_000_000L);
+        assertFalse(deck.waitForCard(10));
+    }
+
+    @Test
+    public void testAddAllAndDrainTo(){
+        Deck deck = new RingDeck(0, new Card[]{new Card(1), new Card(2), new Card(3)}, 4);
+        assertThrows(IllegalStateException.class, () -> deck.addAll(new Card[]{new Card(4), new Card(5)}));
+        assertThrows(NullPointerException.class, () -> deck.addAll(new Card[]{null}));
+        assertEquals("[1, 2, 3]", deck.toString());
+
+        // batches wrap around the ring
+        Card[] drawn = new Card[2];
+        assertEquals(2, deck.drainTo(drawn));
+        deck.addAll(new Card[]{new Card(4), new Card(5), new Card(6)});
+        assertEquals("[3, 4, 5, 6]", deck.toString());
+        drawn = new Card[8];
+        assertEquals(4, deck.drainTo(drawn));
+        assertEquals(6, drawn[3].value);
+        assertTrue(deck.isEmpty());
+    }
+
+    @Test
+    public void testBatchesKeepOrder() throws InterruptedException{
+        Deck deck = new RingDeck(0, null, 64);
+        int cardAmount = 200_000;
+        Thread producer = new Thread(() -> {
+            Card[] batch = new Card[5];
+            for (int next = 0; next < cardAmount; ) {
+                int size = Math.min(batch.length, cardAmount - next);
+                if (size < batch.length) {
+                    batch = new Card[size];
+                }
+                for (int i = 0; i < size; i++) {
+                    batch[i] = new Card(next + i);
+                }
+                try {
+                    deck.addAll(batch);
+                    next += size;
+                } catch (IllegalStateException e) {
+                    Thread.onSpinWait();  // full, retry the same batch
+                }
+            }
+        });
+        producer.start();
+
+        Card[] drawn = new Card[7];
+        int expected = 0;
+        while (expected < cardAmount) {
+            int amount = deck.drainTo(drawn);
+            for (int i = 0; i < amount; i++) {
+                assertEquals(expected++, drawn[i].value);
+            }
+        }
+        producer.join();
+        assertTrue(deck.isEmpty());
+    }
+
+    @Test
+    public void testToArrayWhileCardsMove() throws InterruptedException{
+        RingDeck deck = new RingDeck(0, null, 8);
+        int cardAmount = 10000;
+        Thread producer = new Thread(() -> {
+            for (int next = 0; next < cardAmount; ) {
+                try {
+                    deck.addCard(new Card(next));
+                    next++;
+                } catch (IllegalStateException e) {
+                    Thread.yield();  // full, retry the same card
+                }
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            for (int drawn = 0; drawn < cardAmount; ) {
+                if (deck.pollCard() != null) {
+                    drawn++;
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.start();
+        consumer.start();
+
+        // Read from a third thread, as the stall watchdog does
+        while (consumer.isAlive()) {
+            Card[] cards = deck.toArray();
+            for (int i = 0; i < cards.length; i++) {
+                assertTrue(cards[i] != null);
+                if (i > 0) {
+                    assertEquals(cards[i - 1].value + 1, cards[i].value);
+                }
+            }
+        }
+        producer.join();
+        consumer.join();
+    }
+}
@@ -0,0 +1,154 @@
+package tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Test;
+
+import src.CardGame;
+import src.DeckType;
+import src.GameConfig;
+import src.GameResult;
+import src.Pack;
+import src.TurnOrder;
+import src.exceptions.InvalidPack;
+import src.utils.FileIO;
+
+public class TestSimulationEngine {
+    private final String outputDir = "testSimulationOutput";
+
+    @After
+    public void tearDown() throws IOException {
+        FileIO.deleteRecursively(Path.of(outputDir));
+    }
+
+    /**
+     * Player 1 holds three 1s and the last 1 is at the bottom of deck 2, every other card is distinct
+     */
+    public static Pack lapPack(int playerAmount) throws InvalidPack {
+        int[] nums = new int[8*playerAmount];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = playerAmount + 1 + i;
+        }
+        for (int cardPos = 0; cardPos < 3; cardPos++) {
+            nums[cardPos*playerAmount] = 1;
+        }
+        nums[7*playerAmount + 1] = 1;
+        return new Pack(nums, playerAmount);
+    }
+
+    @Test
+    public void testRoundRobin() throws InvalidPack, InterruptedException {
+        int[] nums = new int[8*3];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = 2;
+        }
+        GameConfig config = new GameConfig().setOutputDir(null);
+
+        // every hand is winning, player 1 goes first
+        GameResult result = CardGame.simulate(new Pack(nums, 3), config).getResult();
+        assertEquals(1, result.winner);
+        assertEquals(0, result.turns);
+
+        result = CardGame.simulate(lapPack(4), config).getResult();
+        assertEquals(1, result.winner);
+        assertEquals(4, result.playerAmount);
+    }
+
+    @Test
+    public void testSeededRandomIsReproducible() throws InvalidPack, InterruptedException, IOException {
+        GameResult[] results = new GameResult[2];
+        for (int run = 0; run < 2; run++) {
+            GameConfig config = new GameConfig()
+                .setTurnOrder(TurnOrder.SEEDED_RANDOM)
+                .setSeed(7)
+                .setOutputDir(outputDir+"/run"+run);
+            results[run] = CardGame.simulate(lapPack(5), config).getResult();
+        }
+        assertEquals(results[0].winner, results[1].winner);
+        assertEquals(results[0].turns, results[1].turns);
+
+        for (int i = 1; i <= 5; i++) {
+            for (String filename : new String[]{"Player"+i+"_output.txt", "deck"+i+"_output.txt"}) {
+                assertArrayEquals(
+                    Files.readAllBytes(Path.of(outputDir, "run0", filename)),
+                    Files.readAllBytes(Path.of(outputDir, "run1", filename))
+                );
+            }
+        }
+    }
+
+    @Test
+    public void testSimulatedLogsMatchThreaded() throws InvalidPack, InterruptedException, IOException {
+        // One player discards to and draws from deck 1, so the threaded game has only one order of turns too
+        Pack pack = new Pack(new int[]{1, 1, 1, 2, 3, 4, 5, 1}, 1);
+        GameResult threaded = CardGame.start(pack, new GameConfig().setOutputDir(outputDir+"/threaded")).getResult();
+        GameResult simulated = CardGame.simulate(pack, new GameConfig().setOutputDir(outputDir+"/simulated"))
+            .getResult();
+        assertEquals(1, simulated.winner);
+        assertEquals(4, simulated.turns);
+        assertEquals(threaded.turns, simulated.turns);
+
+        for (String filename : new String[]{"Player1_output.txt", "deck1_output.txt"}) {
+            assertArrayEquals(
+                Files.readAllBytes(Path.of(outputDir, "threaded", filename)),
+                Files.readAllBytes(Path.of(outputDir, "simulated", filename))
+            );
+        }
+    }
+
+    /**
+     * Every card is distinct and nobody holds a preferred card, so cards go round the table forever
+     */
+    public static Pack loopPack(int playerAmount) throws InvalidPack {
+        int[] nums = new int[8*playerAmount];
+        for (int i = 0; i < nums.length; i++) {
+            nums[i] = playerAmount + 1 + i;
+        }
+        return new Pack(nums, playerAmount);
+    }
+
+    @Test
+    public void testCycleEndsWithoutWinner() throws InvalidPack, InterruptedException, IOException {
+        GameConfig config = new GameConfig().setStallDetectionEnabled(true).setOutputDir(outputDir);
+        CardGame game = CardGame.simulate(loopPack(3), config);
+        GameResult result = game.getResult();
+        assertEquals(0, result.winner);
+        assertNull(game.getState().wonBy());
+        assertTrue(game.getState().isOver());
+        assertTrue(result.turns > 0);
+
+        List<String> log = Files.readAllLines(Path.of(outputDir, "Player2_output.txt"));
+        assertEquals("player 2 has been informed that nobody can win", log.get(log.size() - 3));
+        assertEquals("player 2 exits", log.get(log.size() - 2));
+        assertTrue(Files.exists(Path.of(outputDir, "deck3_output.txt")));
+
+        // a game that can be won is played as before
+        assertEquals(1, CardGame.simulate(lapPack(4), config.setOutputDir(null)).getResult().winner);
+    }
+
+    @Test
+    public void testThreadedStallEndsWithoutWinner() throws InvalidPack, InterruptedException {
+        // Cards go round as player 1's hand, deck 1, player 2's hand then deck 2, so with a 100 at the start of
+        // each no hand ever holds two of them, though the pack holds enough 100s for a win
+        int[] nums = loopPack(2).getValues().clone();
+        for (int position : new int[] {0, 1, 8, 9}) {
+            nums[position] = 100;
+        }
+        for (DeckType deckType : DeckType.values()) {
+            GameConfig config = new GameConfig().setStallDetectionEnabled(true).setOutputDir(null)
+                .setDeckType(deckType);
+            GameResult result = CardGame.start(new Pack(nums, 2), config).getResult();
+            assertEquals(deckType.toString(), 0, result.winner);
+            assertTrue(result.turns > 0);
+        }
+    }
+}
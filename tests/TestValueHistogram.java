@@ -0,0 +1,60 @@
+package tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import src.utils.ValueHistogram;
+
+public class TestValueHistogram {
+    @Test
+    public void testAddAndRemove(){
+        ValueHistogram histogram = new ValueHistogram(4);
+        assertEquals(histogram.distinct(), 0);
+        histogram.add(3);
+        histogram.add(3);
+        histogram.add(-7);
+        assertEquals(histogram.distinct(), 2);
+        assertEquals(histogram.count(3), 2);
+        histogram.remove(3);
+        histogram.remove(-7);
+        assertEquals(histogram.distinct(), 1);
+        assertEquals(histogram.count(-7), 0);
+        assertThrows(IllegalArgumentException.class, () -> histogram.remove(100));
+    }
+
+    @Test
+    public void testMatchesHashMap(){
+        // hand of 64 cards from few values, so probe sequences collide and gaps get closed often
+        int handSize = 64;
+        ValueHistogram histogram = new ValueHistogram(handSize);
+        Map<Integer, Integer> expected = new HashMap<>();
+        int[] hand = new int[handSize];
+        Random random = new Random(1);
+        for (int i = 0; i < handSize; i++) {
+            hand[i] = random.nextInt(200);
+            histogram.add(hand[i]);
+            expected.merge(hand[i], 1, Integer::sum);
+        }
+        for (int turn = 0; turn < 100000; turn++) {
+            int i = random.nextInt(handSize);
+            histogram.remove(hand[i]);
+            expected.merge(hand[i], -1, Integer::sum);
+            expected.remove(hand[i], 0);
+            hand[i] = random.nextInt(200) * 1024;
+            histogram.add(hand[i]);
+            expected.merge(hand[i], 1, Integer::sum);
+
+            assertEquals(expected.size(), histogram.distinct());
+            assertEquals((int) expected.get(hand[i]), histogram.count(hand[i]));
+        }
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertEquals((int) entry.getValue(), histogram.count(entry.getKey()));
+        }
+    }
+}
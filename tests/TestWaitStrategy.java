@@ -0,0 +1,86 @@
+package tests;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import src.Card;
+import src.Deck;
+import src.DeckType;
+import src.WaitStrategy;
+
+public class TestWaitStrategy {
+    private final WaitStrategy[] strategies = new WaitStrategy[] {
+        WaitStrategy.BUSY_SPIN, WaitStrategy.SPIN_YIELD, WaitStrategy.PARK, WaitStrategy.BLOCKING
+    };
+
+    /**
+     * Waits on an empty deck while another thread adds a card
+     * @return time taken to wake up in nanoseconds
+     */
+    public long timeWakeUp(Deck deck) throws InterruptedException{
+        long[] timeTaken = new long[1];
+        Thread consumer = new Thread(() -> {
+            long startTime = System.nanoTime();
+            deck.waitForCard(1000);
+            timeTaken[0] = System.nanoTime() - startTime;
+        });
+        consumer.start();
+        Thread.sleep(50);
+        deck.addCard(new Card(0));
+        consumer.join();
+        return timeTaken[0];
+    }
+
+    @Test
+    public void testTimeout(){
+        for (WaitStrategy strategy : strategies) {
+            for (DeckType type : DeckType.values()) {
+                Deck deck = type.create(0, null, 4, strategy);
+                long startTime = System.nanoTime();
+                assertTrue(deck.waitForCard(50));
+                assertTrue(strategy + " returned before timeout", System.nanoTime() - startTime >= 45_000_000L);
+                assertNull(deck.getWaiter());
+            }
+        }
+    }
+
+    @Test
+    public void testWakeUp() throws InterruptedException{
+        for (WaitStrategy strategy : strategies) {
+            for (DeckType type : DeckType.values()) {
+                Deck deck = type.create(0, null, 4, strategy);
+                long timeTaken = timeWakeUp(deck);
+                assertTrue(strategy + " consumer not woken up by producer", timeTaken < 990_000_000L);
+                assertFalse(deck.waitForCard(10));
+            }
+        }
+    }
+
+    @Test
+    public void testRelease() throws InterruptedException{
+        for (WaitStrategy strategy : strategies) {
+            for (DeckType type : DeckType.values()) {
+                Deck deck = type.create(0, null, 4, strategy);
+                long[] timeTaken = new long[1];
+                Thread consumer = new Thread(() -> {
+                    long startTime = System.nanoTime();
+                    deck.waitForCard(5000);
+                    timeTaken[0] = System.nanoTime() - startTime;
+                });
+                consumer.start();
+                Thread.sleep(50);
+                deck.release();
+                consumer.join();
+                assertTrue(strategy + " consumer not woken up by release", timeTaken[0] < 4_000_000_000L);
+
+                // released decks are never waited on again
+                long startTime = System.nanoTime();
+                assertTrue(deck.waitForCard(5000));
+                assertTrue(System.nanoTime() - startTime < 4_000_000_000L);
+            }
+        }
+    }
+}